@@ -1,21 +1,30 @@
 package com.giffing.spel.validator.examples;
 
 import com.giffing.spel.validator.assertion.SpelAssertion;
+import com.giffing.spel.validator.core.SpelSemanticValidator;
 import com.giffing.spel.validator.examples.first.FirstController;
 import com.giffing.spel.validator.examples.second.SecondController;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
-@SpringBootTest
+// the expressions are asserted by the tests, the background validation of the starter is not needed
+@SpringBootTest(properties = "spel.validator.enabled=false")
 class SpelAssertionSecurityTest {
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Test
     void validate_first_controller_with_invalid_expression() {
         SpelAssertion.config()
                 .registerSecurityDefaults()
                 .packageName(FirstController.class.getPackageName())
                 .scanSpEL()
-                .allValid();
+                .allValid()
+                .resolvesReferences(SpelSemanticValidator.forApplicationContext(
+                        SpelSemanticValidator.methodSecurityRootType().orElseThrow(), applicationContext));
     }
 
     @Test
@@ -0,0 +1,17 @@
+package com.giffing.spel.validator.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation placed on the generated classes of the scan benchmarks.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BenchmarkAnnotation {
+
+    String value() default "";
+
+}
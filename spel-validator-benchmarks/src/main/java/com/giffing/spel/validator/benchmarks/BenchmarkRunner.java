@@ -0,0 +1,29 @@
+package com.giffing.spel.validator.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON (default {@code jmh-result.json}).
+ * <p>
+ * Accepts the regular JMH command line options, e.g. {@code java -jar benchmarks.jar SpelScannerBenchmark -rff scan.json}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var commandLineOptions = new CommandLineOptions(args);
+        var options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON);
+        if (commandLineOptions.getResult().hasValue()) {
+            options.result(commandLineOptions.getResult().get());
+        } else {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
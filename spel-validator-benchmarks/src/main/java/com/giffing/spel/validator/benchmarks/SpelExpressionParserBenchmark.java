@@ -0,0 +1,59 @@
+package com.giffing.spel.validator.benchmarks;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.result.ExpressionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpelExpressionParser#parseExpression(String)} for short, long and deeply nested expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpelExpressionParserBenchmark {
+
+    @Param({"SHORT", "LONG", "NESTED"})
+    private ExpressionType expressionType;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+
+    private String expression;
+
+    @Setup
+    public void setup() {
+        expression = expressionType.expression;
+    }
+
+    @Benchmark
+    public ExpressionResult parseExpression() {
+        return parser.parseExpression(expression);
+    }
+
+    public enum ExpressionType {
+        SHORT("hasRole('ROLE_ADMIN')"),
+        LONG(String.join(" or ", Collections.nCopies(50, "(hasRole('ROLE_ADMIN') and @securityBean.check(#id, 'READ'))"))),
+        NESTED("@a.m(" .repeat(50) + "1" + ")".repeat(50));
+
+        private final String expression;
+
+        ExpressionType(String expression) {
+            this.expression = expression;
+        }
+    }
+}
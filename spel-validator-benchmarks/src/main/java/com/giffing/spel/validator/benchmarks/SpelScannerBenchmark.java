@@ -0,0 +1,73 @@
+package com.giffing.spel.validator.benchmarks;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpelScanner#scan(SpelConfiguration)} over a generated package of N classes with M annotated methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpelScannerBenchmark {
+
+    @Param({"100", "1000"})
+    private int classes;
+
+    @Param({"5", "20"})
+    private int methods;
+
+    @Param({"REFLECTION", "BYTECODE"})
+    private ExtractionMode extractionMode;
+
+    private SyntheticClasses syntheticClasses;
+
+    private SpelScanner scanner;
+
+    private SpelConfiguration configuration;
+
+    @Setup
+    public void setup() {
+        syntheticClasses = SyntheticClasses.generate(classes, methods);
+        scanner = new SpelScanner(new SpelExpressionParser());
+        configuration = SpelConfiguration.builder()
+                .basePackage(syntheticClasses.getPackageName())
+                .annotation(AnnotationToScan.of(BenchmarkAnnotation.class))
+                .extractionMode(extractionMode)
+                .classLoader(syntheticClasses.getClassLoader())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        syntheticClasses.close();
+    }
+
+    @Benchmark
+    public List<SpelScanResult> scan() {
+        return scanner.scan(configuration);
+    }
+}
@@ -0,0 +1,104 @@
+package com.giffing.spel.validator.benchmarks;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelValidator;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the rules of {@link SpelValidator} over large lists of scan results. The validator is created in each
+ * benchmark, so the time includes building the reference index of the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpelValidatorBenchmark {
+
+    @Param({"10000", "100000"})
+    private int results;
+
+    @Param({"10", "500"})
+    private int allowedValues;
+
+    private SpelResultStore resultStore;
+
+    private List<String> allowedBeans;
+
+    private List<String> allowedMethods;
+
+    private List<String> allowedRoles;
+
+    private SpelRuleSet ruleSet;
+
+    @Setup
+    public void setup() {
+        var parser = new SpelExpressionParser();
+        List<SpelScanResult> scanResults = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            var expression = "hasRole('ROLE_%d') and @securityBean%d.check(#id)".formatted(i % 20, i % 5);
+            scanResults.add(SpelScanResult.valid("com.example.Controller" + (i / 10), "method" + i, expression,
+                    parser.parseExpression(expression)));
+        }
+        resultStore = SpelResultStore.of(scanResults);
+        allowedBeans = values("securityBean", allowedValues);
+        allowedMethods = IntStream.range(0, allowedValues)
+                .mapToObj(i -> i == 0 ? "hasRole" : i == 1 ? "check" : "method" + i)
+                .toList();
+        allowedRoles = values("ROLE_", allowedValues);
+        ruleSet = SpelRuleSet.builder()
+                .usesOnlyBeans(allowedBeans)
+                .usesOnlyMethods(allowedMethods)
+                .verifyMethodParameter("hasRole", allowedRoles)
+                .build();
+    }
+
+    private static List<String> values(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+    }
+
+    private SpelValidator createValidator() {
+        return new SpelValidator(resultStore, AllowList.MatchMode.EXACT);
+    }
+
+    @Benchmark
+    public ValidationResult usesOnlyBeans() {
+        return createValidator().usesOnlyBeans(allowedBeans);
+    }
+
+    @Benchmark
+    public ValidationResult usesOnlyMethods() {
+        return createValidator().usesOnlyMethods(allowedMethods);
+    }
+
+    @Benchmark
+    public ValidationResult verifyMethodParameter() {
+        return createValidator().verifyMethodParameter("hasRole", allowedRoles);
+    }
+
+    @Benchmark
+    public List<ValidationResult> ruleSet() {
+        return ruleSet.validate(resultStore);
+    }
+}
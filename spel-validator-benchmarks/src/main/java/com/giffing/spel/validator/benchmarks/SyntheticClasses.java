@@ -0,0 +1,114 @@
+package com.giffing.spel.validator.benchmarks;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates a package of N classes with M methods annotated with {@link BenchmarkAnnotation} as class files.
+ */
+public class SyntheticClasses implements AutoCloseable {
+
+    private static final String ANNOTATION_DESCRIPTOR = Type.getDescriptor(BenchmarkAnnotation.class);
+
+    private final Path directory;
+
+    private final String packageName;
+
+    private final URLClassLoader classLoader;
+
+    private SyntheticClasses(Path directory, String packageName) {
+        this.directory = directory;
+        this.packageName = packageName;
+        try {
+            this.classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, SyntheticClasses.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the classes into a new temporary directory.
+     *
+     * @param classes the number of classes
+     * @param methods the number of annotated methods per class
+     * @return the generated classes
+     */
+    public static SyntheticClasses generate(int classes, int methods) {
+        var packageName = "com.giffing.spel.validator.benchmarks.generated.c%dm%d".formatted(classes, methods);
+        try {
+            var directory = Files.createTempDirectory("spel-benchmark");
+            var packageDirectory = directory.resolve(packageName.replace('.', '/'));
+            Files.createDirectories(packageDirectory);
+            for (int i = 0; i < classes; i++) {
+                var simpleName = "GeneratedClass" + i;
+                var bytes = createClass(packageName.replace('.', '/') + "/" + simpleName, i, methods);
+                Files.write(packageDirectory.resolve(simpleName + ".class"), bytes);
+            }
+            return new SyntheticClasses(directory, packageName);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] createClass(String internalName, int classIndex, int methods) {
+        var classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        var classAnnotation = classWriter.visitAnnotation(ANNOTATION_DESCRIPTOR, true);
+        classAnnotation.visit("value", "isAuthenticated()");
+        classAnnotation.visitEnd();
+
+        var constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        for (int j = 0; j < methods; j++) {
+            MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "method" + j, "()V", null, null);
+            var annotation = method.visitAnnotation(ANNOTATION_DESCRIPTOR, true);
+            annotation.visit("value", "hasRole('ROLE_%d') and @securityBean.check(#id, %d)".formatted(j % 10, classIndex));
+            annotation.visitEnd();
+            method.visitCode();
+            method.visitInsn(Opcodes.RETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return the class loader which contains the generated classes
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
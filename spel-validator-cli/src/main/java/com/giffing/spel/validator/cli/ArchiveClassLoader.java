@@ -0,0 +1,30 @@
+package com.giffing.spel.validator.cli;
+
+import java.util.Map;
+
+/**
+ * Defines the annotation types found in the scanned archives, so the annotation metadata of the class files can be
+ * resolved. Regular classes of the archives are never defined.
+ */
+class ArchiveClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final Map<String, byte[]> annotationTypes;
+
+    ArchiveClassLoader(Map<String, byte[]> annotationTypes, ClassLoader parent) {
+        super(parent);
+        this.annotationTypes = annotationTypes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        var content = annotationTypes.get(name);
+        if (content == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, content, 0, content.length);
+    }
+}
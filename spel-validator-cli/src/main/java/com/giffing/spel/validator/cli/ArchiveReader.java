@@ -0,0 +1,87 @@
+package com.giffing.spel.validator.cli;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the class files of directories and jar files. The classes are never loaded.
+ * <p>
+ * Jars are read as zip streams. Nested jars (e.g. {@code BOOT-INF/lib} of Spring Boot jars or {@code WEB-INF/lib} of
+ * wars) are read from the stream of the enclosing jar without extracting them.
+ */
+class ArchiveReader {
+
+    private static final List<String> CLASS_DIRECTORIES = List.of("BOOT-INF/classes/", "WEB-INF/classes/");
+
+    @FunctionalInterface
+    interface ClassFileConsumer {
+
+        /**
+         * @param origin    the path of the class file, nested entries are separated by {@code !/}
+         * @param className the fully qualified name of the class
+         * @param content   the content of the class file
+         */
+        void accept(String origin, String className, byte[] content);
+    }
+
+    private ArchiveReader() {
+    }
+
+    static void read(Path input, ClassFileConsumer consumer) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (var files = Files.walk(input)) {
+                for (var file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    var name = input.relativize(file).toString().replace(File.separatorChar, '/');
+                    var className = toClassName(name);
+                    if (className != null) {
+                        consumer.accept(file.toString(), className, Files.readAllBytes(file));
+                    }
+                }
+            }
+        } else {
+            try (var zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(input)))) {
+                readJar(input.toString(), zip, consumer);
+            }
+        }
+    }
+
+    private static void readJar(String origin, ZipInputStream zip, ClassFileConsumer consumer) throws IOException {
+        for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            var name = entry.getName();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (name.endsWith(".jar")) {
+                // not closed, closing would close the enclosing stream
+                readJar(origin + "!/" + name, new ZipInputStream(zip), consumer);
+            } else {
+                var className = toClassName(name);
+                if (className != null) {
+                    consumer.accept(origin + "!/" + name, className, zip.readAllBytes());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the class name of the class file or null if the entry is no class file of a regular class
+     */
+    static String toClassName(String name) {
+        if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")
+                || name.endsWith("package-info.class")) {
+            return null;
+        }
+        for (var classDirectory : CLASS_DIRECTORIES) {
+            if (name.startsWith(classDirectory)) {
+                name = name.substring(classDirectory.length());
+                break;
+            }
+        }
+        return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+    }
+}
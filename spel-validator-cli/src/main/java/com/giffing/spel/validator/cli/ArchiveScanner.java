@@ -0,0 +1,151 @@
+package com.giffing.spel.validator.cli;
+
+import com.giffing.spel.validator.core.SpelExpressionCache;
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.SpelRule;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.Opcodes;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scans the class files of jars and directories in parallel.
+ * <p>
+ * The inputs are read twice. The first pass collects the annotation types of the inputs, so composed annotations and
+ * custom annotations can be resolved. The second pass reads the annotation metadata of each class file and scans it
+ * on the thread pool. The number of class files waiting to be scanned is limited, so large inputs don't have to fit
+ * into memory.
+ */
+@RequiredArgsConstructor
+class ArchiveScanner {
+
+    private final CliOptions options;
+
+    List<ClassScan> scan() throws IOException {
+        var readers = Executors.newFixedThreadPool(Math.min(options.getThreads(), options.getInputs().size()));
+        var scanners = Executors.newFixedThreadPool(options.getThreads());
+        try {
+            Map<String, byte[]> annotationTypes = new ConcurrentHashMap<>();
+            readAll(readers, (origin, className, content) -> {
+                if ((new ClassReader(content).getAccess() & Opcodes.ACC_ANNOTATION) != 0) {
+                    annotationTypes.putIfAbsent(className, content);
+                }
+            });
+
+            var classLoader = new ArchiveClassLoader(annotationTypes, getClass().getClassLoader());
+            var configuration = SpelConfiguration.builder()
+                    .basePackage("")
+                    .annotations(options.getAnnotations())
+                    .extractionMode(ExtractionMode.BYTECODE)
+                    .classLoader(classLoader)
+                    .build();
+            var spelScanner = new SpelScanner(new SpelExpressionParser(new SpelExpressionCache(options.getCacheSize())));
+            var pending = new Semaphore(options.getThreads() * 16);
+            Queue<CompletableFuture<ClassScan>> scans = new ConcurrentLinkedQueue<>();
+            readAll(readers, (origin, className, content) -> {
+                if (!options.isInPackages(className)) {
+                    return;
+                }
+                pending.acquireUninterruptibly();
+                scans.add(CompletableFuture
+                        .supplyAsync(() -> new ClassScan(origin, className, spelScanner.scanClassFile(configuration,
+                                className, new ByteArrayResource(content, origin))), scanners)
+                        .whenComplete((scan, e) -> pending.release()));
+            });
+
+            List<ClassScan> results = new ArrayList<>();
+            for (var scan : scans) {
+                var result = scan.join();
+                if (!result.results().isEmpty()) {
+                    results.add(result);
+                }
+            }
+            results.sort(Comparator.comparing(ClassScan::className).thenComparing(ClassScan::origin));
+            return results;
+        } finally {
+            readers.shutdownNow();
+            scanners.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates the expressions of all scans in a single pass. Each violation is related to the class file of the scan
+     * result causing it, only the violations of failed rules are returned.
+     */
+    static List<Violation> validate(List<ClassScan> scans, SpelRuleSet ruleSet) {
+        Map<SpelScanResult, ClassScan> scansByResult = new IdentityHashMap<>();
+        for (var scan : scans) {
+            scan.results().forEach(result -> scansByResult.put(result, scan));
+        }
+        List<SpelRule> violatedRules = new ArrayList<>();
+        List<Violation> found = new ArrayList<>();
+        var validationResults = ruleSet.validate(() -> scans.stream().flatMap(scan -> scan.results().stream()).iterator(),
+                (rule, result, item) -> {
+                    var scan = scansByResult.get(result);
+                    violatedRules.add(rule);
+                    found.add(new Violation(rule.getId(), scan.origin(), scan.className(), result.getMethod(),
+                            result.getExpression(), item.getMessage()));
+                });
+        Set<SpelRule> failedRules = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < validationResults.size(); i++) {
+            if (validationResults.get(i).getStatus() == ValidationResult.ValidationStatus.ERROR) {
+                failedRules.add(ruleSet.getRules().get(i));
+            }
+        }
+        List<Violation> violations = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            if (failedRules.contains(violatedRules.get(i))) {
+                violations.add(found.get(i));
+            }
+        }
+        return violations;
+    }
+
+    private void readAll(ExecutorService readers, ArchiveReader.ClassFileConsumer consumer) throws IOException {
+        var reads = options.getInputs()
+                .stream()
+                .map(input -> CompletableFuture.runAsync(() -> read(input, consumer), readers))
+                .toList();
+        try {
+            reads.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void read(Path input, ArchiveReader.ClassFileConsumer consumer) {
+        try {
+            ArchiveReader.read(input, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("%s couldn't be read: %s".formatted(input, e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.giffing.spel.validator.cli;
+
+import com.giffing.spel.validator.core.result.SpelScanResult;
+
+import java.util.List;
+
+/**
+ * The scan results of a single class file.
+ *
+ * @param origin    the path of the class file, nested entries are separated by {@code !/}
+ * @param className the fully qualified name of the class
+ * @param results   the scan results of the class
+ */
+record ClassScan(String origin, String className, List<SpelScanResult> results) {
+}
@@ -0,0 +1,206 @@
+package com.giffing.spel.validator.cli;
+
+import com.giffing.spel.validator.core.SpelExpressionCache;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.Getter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The command line options of the {@link SpelValidatorCli}.
+ */
+@Getter
+class CliOptions {
+
+    /**
+     * The default number of parsed expressions to cache, repeated expressions are parsed only once.
+     */
+    static final int DEFAULT_CACHE_SIZE = SpelExpressionCache.DEFAULT_MAXIMUM_SIZE;
+
+    static final String USAGE = """
+            Usage: spel-validator [options] <jar|directory>...
+
+            Validates the SpEL expressions in the class files of jars (including nested jars) and directories.
+
+            Options:
+              --annotation <class>[#attr,...]  Scans an additional annotation, the attribute defaults to 'value'
+              --no-security-defaults           Doesn't scan @PreAuthorize, @PostAuthorize, @PreFilter and @PostFilter
+              --package <name>                 Only scans classes in the package, can be repeated
+              --allow-beans <bean,...>         Beans which may be referenced
+              --allow-methods <method,...>     Methods which may be called
+              --allow-param <method>=<v,...>   Allowed parameters of a method, can be repeated
+              --match-mode <mode>              EXACT (default), CASE_INSENSITIVE or PREFIX
+              --no-all-valid                   Doesn't report invalid expressions
+              --format <format>                text (default), json or sarif
+              --output <file>                  Writes the report to the file instead of stdout
+              --threads <count>                Number of scan threads, defaults to the available processors
+              --cache-size <count>             Number of parsed expressions to cache, defaults to %d
+              --help                           Prints this help
+
+            Exit codes: 0 no violations, 1 violations found, 2 invalid arguments or unreadable input
+            """.formatted(DEFAULT_CACHE_SIZE);
+
+    private static final List<String> SECURITY_ANNOTATIONS = List.of(
+            "org.springframework.security.access.prepost.PreAuthorize",
+            "org.springframework.security.access.prepost.PostAuthorize",
+            "org.springframework.security.access.prepost.PostFilter",
+            "org.springframework.security.access.prepost.PreFilter");
+
+    enum Format {
+        TEXT, JSON, SARIF
+    }
+
+    private final List<Path> inputs = new ArrayList<>();
+
+    private final List<AnnotationToScan> annotations = new ArrayList<>();
+
+    private final List<String> packages = new ArrayList<>();
+
+    private List<String> allowedBeans;
+
+    private List<String> allowedMethods;
+
+    private final Map<String, List<String>> allowedParams = new LinkedHashMap<>();
+
+    private AllowList.MatchMode matchMode = AllowList.MatchMode.EXACT;
+
+    private boolean allValid = true;
+
+    private Format format = Format.TEXT;
+
+    private Path output;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+
+    private boolean help;
+
+    private CliOptions() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static CliOptions parse(String... args) {
+        var options = new CliOptions();
+        var securityDefaults = true;
+        for (int i = 0; i < args.length; i++) {
+            var arg = args[i];
+            switch (arg) {
+                case "--help", "-h" -> options.help = true;
+                case "--annotation" -> options.annotations.add(toAnnotation(value(args, ++i, arg)));
+                case "--no-security-defaults" -> securityDefaults = false;
+                case "--package" -> options.packages.add(value(args, ++i, arg));
+                case "--allow-beans" -> options.allowedBeans = split(value(args, ++i, arg));
+                case "--allow-methods" -> options.allowedMethods = split(value(args, ++i, arg));
+                case "--allow-param" -> {
+                    var value = value(args, ++i, arg);
+                    var separator = value.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Expected <method>=<values> for --allow-param: " + value);
+                    }
+                    options.allowedParams.put(value.substring(0, separator), split(value.substring(separator + 1)));
+                }
+                case "--match-mode" -> options.matchMode = enumValue(AllowList.MatchMode.class, value(args, ++i, arg));
+                case "--no-all-valid" -> options.allValid = false;
+                case "--format" -> options.format = enumValue(Format.class, value(args, ++i, arg));
+                case "--output" -> options.output = Path.of(value(args, ++i, arg));
+                case "--threads" -> options.threads = positive(value(args, ++i, arg), "number of threads");
+                case "--cache-size" -> options.cacheSize = positive(value(args, ++i, arg), "cache size");
+                default -> {
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    var input = Path.of(arg);
+                    if (!Files.exists(input)) {
+                        throw new IllegalArgumentException("Input doesn't exist: " + arg);
+                    }
+                    options.inputs.add(input);
+                }
+            }
+        }
+        if (securityDefaults) {
+            options.annotations.addAll(0, SECURITY_ANNOTATIONS.stream().map(AnnotationToScan::new).toList());
+        }
+        if (!options.help && options.inputs.isEmpty()) {
+            throw new IllegalArgumentException("No jar or directory given");
+        }
+        if (options.annotations.isEmpty()) {
+            throw new IllegalArgumentException("No annotation to scan");
+        }
+        return options;
+    }
+
+    SpelRuleSet toRuleSet() {
+        var builder = SpelRuleSet.builder().matchMode(matchMode);
+        if (allValid) {
+            builder.allValid();
+        }
+        if (allowedBeans != null) {
+            builder.usesOnlyBeans(allowedBeans);
+        }
+        if (allowedMethods != null) {
+            builder.usesOnlyMethods(allowedMethods);
+        }
+        allowedParams.forEach(builder::verifyMethodParameter);
+        return builder.build();
+    }
+
+    boolean isInPackages(String className) {
+        return packages.isEmpty() || packages.stream().anyMatch(packageName -> className.startsWith(packageName + "."));
+    }
+
+    private static AnnotationToScan toAnnotation(String value) {
+        var separator = value.indexOf('#');
+        var annotation = new AnnotationToScan(separator < 0 ? value : value.substring(0, separator));
+        if (separator >= 0) {
+            annotation.setAttributeNames(split(value.substring(separator + 1)));
+        }
+        return annotation;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '%s', expected one of %s".formatted(value,
+                    Arrays.toString(type.getEnumConstants())));
+        }
+    }
+
+    private static int positive(String value, String name) {
+        try {
+            var number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("The " + name + " must be positive: " + value);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.giffing.spel.validator.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the violations as plain text, JSON or SARIF 2.1.0.
+ */
+class ReportWriter {
+
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    void write(CliOptions.Format format, List<ClassScan> scans, List<Violation> violations, PrintStream out) throws IOException {
+        switch (format) {
+            case TEXT -> writeText(scans, violations, out);
+            case JSON -> writeJson(scans, violations, out);
+            case SARIF -> writeSarif(violations, out);
+        }
+        out.flush();
+    }
+
+    private void writeText(List<ClassScan> scans, List<Violation> violations, PrintStream out) {
+        for (var violation : violations) {
+            out.println(violation.origin() + ": " + violation.message());
+        }
+        out.printf("%d classes with %d SpEL expressions scanned, %d violations found%n",
+                scans.size(), countExpressions(scans), violations.size());
+    }
+
+    private void writeJson(List<ClassScan> scans, List<Violation> violations, PrintStream out) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("classes", scans.size());
+        report.put("expressions", countExpressions(scans));
+        report.put("violations", violations);
+        objectMapper.writeValue(new NonClosingPrintStream(out), report);
+        out.println();
+    }
+
+    private void writeSarif(List<Violation> violations, PrintStream out) throws IOException {
+        var ruleIds = new LinkedHashSet<String>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (var violation : violations) {
+            ruleIds.add(violation.rule());
+            var logicalName = violation.method() == null
+                    ? violation.className()
+                    : violation.className() + "#" + violation.method();
+            results.add(Map.of(
+                    "ruleId", violation.rule(),
+                    "level", "error",
+                    "message", Map.of("text", violation.message()),
+                    "locations", List.of(Map.of(
+                            "physicalLocation", Map.of("artifactLocation", Map.of("uri", toUri(violation.origin()))),
+                            "logicalLocations", List.of(Map.of(
+                                    "fullyQualifiedName", logicalName,
+                                    "kind", violation.method() == null ? "type" : "function"))))));
+        }
+        var rules = ruleIds.stream()
+                .map(id -> Map.of("id", id, "shortDescription", Map.of("text", id)))
+                .toList();
+        Map<String, Object> sarif = new LinkedHashMap<>();
+        sarif.put("$schema", SARIF_SCHEMA);
+        sarif.put("version", "2.1.0");
+        sarif.put("runs", List.of(Map.of(
+                "tool", Map.of("driver", Map.of(
+                        "name", "spel-validator",
+                        "informationUri", "https://github.com/MarcGiffing/spel-validator",
+                        "rules", rules)),
+                "results", results)));
+        objectMapper.writeValue(new NonClosingPrintStream(out), sarif);
+        out.println();
+    }
+
+    private static String toUri(String origin) {
+        return origin.replace('\\', '/');
+    }
+
+    private static long countExpressions(List<ClassScan> scans) {
+        return scans.stream().mapToLong(scan -> scan.results().size()).sum();
+    }
+
+    /**
+     * Jackson closes the target stream after writing, which must not close stdout.
+     */
+    private static class NonClosingPrintStream extends PrintStream {
+
+        NonClosingPrintStream(PrintStream out) {
+            super(out, true);
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.giffing.spel.validator.cli;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Command line interface which validates the SpEL expressions of jars and class directories, e.g. to audit third
+ * party artifacts. See {@link CliOptions#USAGE} for the options.
+ */
+public class SpelValidatorCli {
+
+    static final int OK = 0;
+
+    static final int VIOLATIONS = 1;
+
+    static final int ERROR = 2;
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println();
+            err.print(CliOptions.USAGE);
+            return ERROR;
+        }
+        if (options.isHelp()) {
+            out.print(CliOptions.USAGE);
+            return OK;
+        }
+        try {
+            var scans = new ArchiveScanner(options).scan();
+            var violations = ArchiveScanner.validate(scans, options.toRuleSet());
+            if (options.getOutput() != null) {
+                try (var report = new PrintStream(options.getOutput().toFile(), StandardCharsets.UTF_8)) {
+                    new ReportWriter().write(options.getFormat(), scans, violations, report);
+                }
+            } else {
+                new ReportWriter().write(options.getFormat(), scans, violations, out);
+            }
+            return violations.isEmpty() ? OK : VIOLATIONS;
+        } catch (FileNotFoundException e) {
+            err.println("Report couldn't be written: " + e.getMessage());
+            return ERROR;
+        } catch (IOException e) {
+            err.println(e.getMessage());
+            return ERROR;
+        }
+    }
+}
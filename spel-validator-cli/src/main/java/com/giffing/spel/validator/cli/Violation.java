@@ -0,0 +1,14 @@
+package com.giffing.spel.validator.cli;
+
+/**
+ * A rule violation of a single expression.
+ *
+ * @param rule       the name of the violated rule
+ * @param origin     the path of the class file
+ * @param className  the fully qualified name of the class
+ * @param method     the method name or null if the expression is declared on the class
+ * @param expression the SpEL expression
+ * @param message    the message of the violation
+ */
+record Violation(String rule, String origin, String className, String method, String expression, String message) {
+}
@@ -0,0 +1,117 @@
+package com.giffing.spel.validator.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giffing.spel.validator.cli.fixture.Konto;
+import com.giffing.spel.validator.cli.fixture.Regel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelValidatorCliTest {
+
+    @TempDir
+    Path directory;
+
+    private Path classesDirectory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setup() throws URISyntaxException {
+        classesDirectory = Path.of(Konto.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    @Test
+    void reportsViolationsOfNestedJarsAsText() throws IOException {
+        var jar = createBootJar();
+
+        var exitCode = run(jar.toString(), "--annotation", Regel.class.getName(), "--allow-methods", "hasRole");
+
+        assertThat(exitCode).isEqualTo(SpelValidatorCli.VIOLATIONS);
+        var origin = jar + "!/BOOT-INF/lib/fixture.jar!/" + Konto.class.getName().replace('.', '/') + ".class";
+        assertThat(output()).contains(
+                origin + ": Konto(invalid) - ",
+                origin + ": Konto(owner) - '[isOwner]'",
+                "1 classes with 3 SpEL expressions scanned, 2 violations found");
+    }
+
+    @Test
+    void writesSarifReport() throws IOException {
+        var exitCode = run(classesDirectory.toString(), "--package", Konto.class.getPackageName(),
+                "--annotation", Regel.class.getName(), "--allow-beans", "otherService", "--format", "sarif");
+
+        assertThat(exitCode).isEqualTo(SpelValidatorCli.VIOLATIONS);
+        var sarif = new ObjectMapper().readTree(output());
+        assertThat(sarif.get("version").asText()).isEqualTo("2.1.0");
+        var results = sarif.get("runs").get(0).get("results");
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("ruleId").asText()).isEqualTo("all-valid");
+        assertThat(results.get(1).get("ruleId").asText()).isEqualTo("uses-only-beans");
+        assertThat(results.get(1).get("locations").get(0).get("logicalLocations").get(0).get("fullyQualifiedName").asText())
+                .isEqualTo(Konto.class.getName() + "#owner");
+    }
+
+    @Test
+    void returnsZeroWithoutViolations() throws IOException {
+        var exitCode = run(classesDirectory.toString(), "--package", Konto.class.getPackageName(), "--format", "json");
+
+        assertThat(exitCode).isEqualTo(SpelValidatorCli.OK);
+        var report = new ObjectMapper().readTree(output());
+        assertThat(report.get("expressions").asInt()).isEqualTo(1);
+        assertThat(report.get("violations")).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThat(run("--format", "xml", classesDirectory.toString())).isEqualTo(SpelValidatorCli.ERROR);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("Invalid value 'xml'", "Usage: spel-validator");
+        assertThat(run("--cache-size", "0", classesDirectory.toString())).isEqualTo(SpelValidatorCli.ERROR);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("The cache size must be positive: 0",
+                "--cache-size <count>             Number of parsed expressions to cache, defaults to 10000");
+    }
+
+    private int run(String... args) {
+        return SpelValidatorCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a jar like a Spring Boot jar which contains the fixture classes in a nested jar.
+     */
+    private Path createBootJar() throws IOException {
+        var nestedJar = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(nestedJar)) {
+            for (var clazz : new Class<?>[]{Konto.class, Regel.class}) {
+                var name = clazz.getName().replace('.', '/') + ".class";
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(Files.readAllBytes(classesDirectory.resolve(name)));
+                zip.closeEntry();
+            }
+        }
+        var jar = directory.resolve("app.jar");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry("BOOT-INF/lib/fixture.jar"));
+            zip.write(nestedJar.toByteArray());
+            zip.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,19 @@
+package com.giffing.spel.validator.cli.fixture;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+
+public class Konto {
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void admin() {
+    }
+
+    @Regel("hasRole('USER') and @kontoService.isOwner(#id)")
+    public void owner(Long id) {
+    }
+
+    @Regel("hasRole('USER'")
+    public void invalid() {
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.giffing.spel.validator.cli.fixture;
+
+import java.lang.annotation.*;
+
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Regel {
+
+    String value() default "";
+
+}
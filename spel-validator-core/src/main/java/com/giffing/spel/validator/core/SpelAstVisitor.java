@@ -0,0 +1,41 @@
+package com.giffing.spel.validator.core;
+
+import org.springframework.expression.spel.SpelNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Visitor of the nodes of a parsed SpEL expression.
+ * <p>
+ * Can be used to implement custom analyses of expressions, see {@link SpelExpressionParser#visit(String, SpelAstVisitor)}.
+ */
+@FunctionalInterface
+public interface SpelAstVisitor {
+
+    /**
+     * Called once for every node of the AST.
+     *
+     * @param node the visited node
+     */
+    void visit(SpelNode node);
+
+    /**
+     * Visits all nodes of the AST depth-first in pre-order (parent before its children, children from left to right).
+     * The traversal is iterative, so deeply nested expressions can't overflow the stack.
+     *
+     * @param root    the root node of the AST
+     * @param visitor the visitor called for each node
+     */
+    static void walk(SpelNode root, SpelAstVisitor visitor) {
+        Deque<SpelNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            visitor.visit(node);
+            for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                stack.push(node.getChild(i));
+            }
+        }
+    }
+}
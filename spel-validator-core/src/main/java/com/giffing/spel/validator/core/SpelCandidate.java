@@ -0,0 +1,45 @@
+package com.giffing.spel.validator.core;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.Set;
+
+/**
+ * A class found by the {@link SpelExpressionLocator} which holds at least one of the configured annotations.
+ * <p>
+ * The information is read from the class file, the class itself is not loaded.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SpelCandidate {
+
+    /**
+     * The fully qualified name of the class.
+     */
+    private final String className;
+
+    /**
+     * The class file of the candidate.
+     */
+    private final Resource resource;
+
+    /**
+     * True if the type itself (or one of its superclasses) carries a configured annotation.
+     */
+    private final boolean typeAnnotated;
+
+    /**
+     * The names of the declared methods which carry a configured annotation or override a method of a supertype
+     * carrying one.
+     */
+    private final Set<String> annotatedMethods;
+
+    /**
+     * The annotation metadata read from the class file.
+     */
+    private final AnnotationMetadata metadata;
+
+}
@@ -0,0 +1,68 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Finds the class files of a classes directory, e.g. the build output, and maps them to class names.
+ */
+public class SpelClassFiles {
+
+    public static final String CLASS_FILE_SUFFIX = ".class";
+
+    private SpelClassFiles() {
+    }
+
+    /**
+     * @param directory the classes directory or one of its sub directories
+     * @return all class files below the directory ordered by path, empty if the directory doesn't exist
+     */
+    public static List<Path> find(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.toString().endsWith(CLASS_FILE_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Class files of '" + directory + "' couldn't be read", e);
+        }
+    }
+
+    /**
+     * @param classesDirectory the root of the classes directory
+     * @param classFile        a class file below the classes directory
+     * @return the fully qualified name of the class, e.g. {@code com.example.Outer$Inner}
+     */
+    public static String toClassName(Path classesDirectory, Path classFile) {
+        var relativePath = classesDirectory.toAbsolutePath().normalize()
+                .relativize(classFile.toAbsolutePath().normalize())
+                .toString();
+        return relativePath.substring(0, relativePath.length() - CLASS_FILE_SUFFIX.length())
+                .replace(classFile.getFileSystem().getSeparator(), ".");
+    }
+
+    /**
+     * @return the class file of the class below the classes directory, it may not exist
+     */
+    public static Path toClassFile(Path classesDirectory, String className) {
+        return classesDirectory.resolve(className.replace(".", classesDirectory.getFileSystem().getSeparator()) + CLASS_FILE_SUFFIX);
+    }
+
+    /**
+     * @return true if the class is in the configured packages, {@code package-info} and {@code module-info} are never
+     * scanned
+     */
+    public static boolean isScanned(SpelConfiguration configuration, String className) {
+        return !className.endsWith("-info") && configuration.isIncluded(className);
+    }
+}
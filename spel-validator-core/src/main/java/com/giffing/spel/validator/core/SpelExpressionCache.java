@@ -0,0 +1,109 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.result.ExpressionResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size bounded, thread safe cache of parsed SpEL expressions.
+ * <p>
+ * The least recently used expression is evicted if the maximum size is exceeded. The cached
+ * {@link ExpressionResult}s are unmodifiable because they are shared between all occurrences of an expression.
+ */
+public class SpelExpressionCache {
+
+    /**
+     * The default number of parsed expressions to cache, repeated expressions are parsed only once.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final int maximumSize;
+
+    private final Map<String, ExpressionResult> cache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public SpelExpressionCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the expression cache must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExpressionResult> eldest) {
+                if (size() > SpelExpressionCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of the expression or parses and caches it. The expression is parsed outside of the
+     * lock, so parallel scans don't wait for each other.
+     *
+     * @param expression the SpEL expression
+     * @param parser     parses the expression if it isn't cached yet
+     * @return the unmodifiable result of the expression
+     */
+    public ExpressionResult get(String expression, Function<String, ExpressionResult> parser) {
+        ExpressionResult result;
+        synchronized (cache) {
+            result = cache.get(expression);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        var parsed = parser.apply(expression).toUnmodifiable();
+        synchronized (cache) {
+            var existing = cache.putIfAbsent(expression, parsed);
+            return existing != null ? existing : parsed;
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        @Override
+        public String toString() {
+            return "hits=%d, misses=%d, evictions=%d, size=%d".formatted(hits, misses, evictions, size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.result.SpelScanResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the scan results of identical expressions into one result per unique expression which lists all its sites.
+ * Rule violations are then reported once per expression instead of once per site.
+ */
+public class SpelExpressionDeduplicator {
+
+    private SpelExpressionDeduplicator() {
+    }
+
+    /**
+     * Groups the results by expression, status and error message. The merged result takes the class, method and
+     * {@link com.giffing.spel.validator.core.result.ExpressionResult} of the first site. Results without an expression,
+     * e.g. classes which couldn't be scanned, are not merged.
+     *
+     * @param results the scan results
+     * @return one result per unique expression in the order of their first site
+     */
+    @SuppressWarnings("deprecation")
+    public static List<SpelScanResult> deduplicate(List<SpelScanResult> results) {
+        Map<Object, List<SpelScanResult>> groups = new LinkedHashMap<>();
+        for (var result : results) {
+            var key = result.getExpression() != null
+                    ? new Key(result.getExpression(), result.getStatus(), result.getErrorMessage())
+                    : new Object();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
+        }
+        List<SpelScanResult> deduplicated = new ArrayList<>(groups.size());
+        for (var group : groups.values()) {
+            var first = group.get(0);
+            if (group.size() == 1) {
+                deduplicated.add(first);
+                continue;
+            }
+            List<SpelScanResult.Site> sites = new ArrayList<>();
+            for (var result : group) {
+                sites.addAll(result.getSites());
+            }
+            deduplicated.add(new SpelScanResult(first.getStatus(), first.getClazz(), first.getClassName(), first.getMethod(),
+                    first.getExpression(), first.getErrorMessage(), first.getExpressionResult(), sites));
+        }
+        return deduplicated;
+    }
+
+    private record Key(String expression, SpelScanResult.Status status, String errorMessage) {
+    }
+}
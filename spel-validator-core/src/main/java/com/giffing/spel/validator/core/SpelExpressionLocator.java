@@ -1,48 +1,199 @@
 package com.giffing.spel.validator.core;
 
+import com.giffing.spel.validator.core.config.ResolvedAnnotation;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
-import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class SpelExpressionLocator {
 
     /**
-     * Creates a ClassPathScanningCandidateComponentProvider configured for the given SpELConfiguration.
-     * Scans for all configured annotations.
+     * Finds all classes in the configured packages which carry one of the configured annotations on type or
+     * method level and loads them without initializing them.
      *
      * @param configuration the SpEL configuration
-     * @return the configured scanner
+     * @return the candidate classes
      */
     public static Set<Class<?>> findCandidates(SpelConfiguration configuration) {
-        var scanner = new ClassPathScanningCandidateComponentProvider(true);
-        configuration.getAnnotations().forEach(annotationToScan -> {
-            try {
-                if (annotationToScan.isAnnotation()) {
-                    scanner.addIncludeFilter(new AnnotationTypeFilter(annotationToScan.getAnnotationClass()));
-                } else {
-                    log.warn("Is not an annotation: {}", annotationToScan.getClassName());
-                }
-            } catch (ClassNotFoundException e) {
-                log.warn("Configured annotation class not found: {}", annotationToScan.getClassName());
-            }
-        });
-        return scanner.findCandidateComponents(configuration.getBasePackage())
+        var classLoader = configuration.getClassLoader();
+        return indexCandidates(configuration)
                 .stream()
-                .map(BeanDefinition::getBeanClassName)
-                .map(clazzName -> {
+                .map(candidate -> {
                     try {
-                        return Class.forName(clazzName);
+                        return ClassUtils.forName(candidate.getClassName(), classLoader);
                     } catch (ClassNotFoundException e) {
                         throw new RuntimeException(e);
                     }
                 })
                 .collect(Collectors.toSet());
     }
-}
 
+    /**
+     * Reads all class files in the configured packages once and records which types and which methods carry one
+     * of the configured annotations (directly or as meta-annotation). The classes itself are not loaded.
+     * <p>
+     * All packages are traversed with the same resolver and metadata cache, packages within another configured
+     * package are not traversed again. Classes in excluded packages are skipped. The configured listener is notified
+     * about the number of candidates and the discovery time.
+     *
+     * @param configuration the SpEL configuration
+     * @return the candidates ordered by class name
+     */
+    public static List<SpelCandidate> indexCandidates(SpelConfiguration configuration) {
+        var annotationNames = configuration.getResolvedAnnotations()
+                .stream()
+                .map(ResolvedAnnotation::getClassName)
+                .toList();
+        if (annotationNames.isEmpty()) {
+            return List.of();
+        }
+        var start = System.nanoTime();
+        var resolver = new PathMatchingResourcePatternResolver(configuration.getClassLoader());
+        var metadataReaderFactory = new CachingMetadataReaderFactory(resolver);
+        try {
+            Map<String, SpelCandidate> candidates = new TreeMap<>();
+            for (var rootPackage : configuration.getRootPackages()) {
+                for (Resource resource : resolver.getResources(toPattern(rootPackage))) {
+                    var metadata = metadataReaderFactory.getMetadataReader(resource).getAnnotationMetadata();
+                    if (candidates.containsKey(metadata.getClassName()) || !configuration.isIncluded(metadata.getClassName())) {
+                        continue;
+                    }
+                    inspect(metadata, resource, annotationNames, metadataReaderFactory)
+                            .ifPresent(candidate -> candidates.put(candidate.getClassName(), candidate));
+                }
+            }
+            configuration.getScanListener().candidatesFound(String.join(",", configuration.getPackages()),
+                    candidates.size(), Duration.ofNanos(System.nanoTime() - start));
+            return new ArrayList<>(candidates.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Classpath couldn't be scanned: " + e.getMessage(), e);
+        }
+    }
+
+    private static String toPattern(String packageName) {
+        return ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                + ClassUtils.convertClassNameToResourcePath(packageName)
+                + "/**/*.class";
+    }
+
+    private static Optional<SpelCandidate> inspect(
+            AnnotationMetadata metadata,
+            Resource resource,
+            List<String> annotationNames,
+            MetadataReaderFactory metadataReaderFactory) {
+        if (!metadata.isIndependent() || metadata.isInterface()) {
+            return Optional.empty();
+        }
+        var typeAnnotated = isAnnotated(metadata, annotationNames)
+                || isSuperclassAnnotated(metadata, annotationNames, metadataReaderFactory);
+        Set<String> annotatedMethods = new TreeSet<>();
+        Set<String> inheritedMethods = null;
+        for (MethodMetadata method : metadata.getDeclaredMethods()) {
+            if (isAnnotated(method, annotationNames)) {
+                annotatedMethods.add(method.getMethodName());
+                continue;
+            }
+            if (inheritedMethods == null) {
+                inheritedMethods = findInheritedAnnotatedMethods(metadata, annotationNames, metadataReaderFactory);
+            }
+            if (inheritedMethods.contains(method.getMethodName())) {
+                annotatedMethods.add(method.getMethodName());
+            }
+        }
+        if (!typeAnnotated && annotatedMethods.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SpelCandidate(metadata.getClassName(), resource, typeAnnotated, annotatedMethods, metadata));
+    }
+
+    private static boolean isAnnotated(AnnotationMetadata metadata, List<String> annotationNames) {
+        return annotationNames.stream().anyMatch(name -> metadata.getAnnotations().isPresent(name));
+    }
+
+    private static boolean isAnnotated(MethodMetadata method, List<String> annotationNames) {
+        return annotationNames.stream().anyMatch(name -> method.getAnnotations().isPresent(name));
+    }
+
+    /**
+     * Collects the names of the annotated methods of all superclasses and interfaces. An overriding method inherits
+     * the annotations of the overridden method in {@code REFLECTION} mode. Methods are matched by name only, the
+     * scanner resolves the annotations of the exact method.
+     */
+    private static Set<String> findInheritedAnnotatedMethods(
+            AnnotationMetadata metadata,
+            List<String> annotationNames,
+            MetadataReaderFactory metadataReaderFactory) {
+        Set<String> methodNames = new TreeSet<>();
+        Set<String> visited = new TreeSet<>();
+        List<String> superTypes = new ArrayList<>(getSuperTypeNames(metadata));
+        while (!superTypes.isEmpty()) {
+            var superTypeName = superTypes.remove(superTypes.size() - 1);
+            if (superTypeName.startsWith("java.") || !visited.add(superTypeName)) {
+                continue;
+            }
+            AnnotationMetadata superMetadata;
+            try {
+                superMetadata = metadataReaderFactory.getMetadataReader(superTypeName).getAnnotationMetadata();
+            } catch (IOException e) {
+                log.debug("Supertype '{}' couldn't be read: {}", superTypeName, e.getMessage());
+                continue;
+            }
+            for (MethodMetadata method : superMetadata.getDeclaredMethods()) {
+                if (isAnnotated(method, annotationNames)) {
+                    methodNames.add(method.getMethodName());
+                }
+            }
+            superTypes.addAll(getSuperTypeNames(superMetadata));
+        }
+        return methodNames;
+    }
+
+    private static List<String> getSuperTypeNames(AnnotationMetadata metadata) {
+        List<String> superTypeNames = new ArrayList<>(List.of(metadata.getInterfaceNames()));
+        if (metadata.getSuperClassName() != null) {
+            superTypeNames.add(metadata.getSuperClassName());
+        }
+        return superTypeNames;
+    }
+
+    private static boolean isSuperclassAnnotated(
+            AnnotationMetadata metadata,
+            List<String> annotationNames,
+            MetadataReaderFactory metadataReaderFactory) {
+        var superClassName = metadata.getSuperClassName();
+        while (superClassName != null && !superClassName.startsWith("java.")) {
+            AnnotationMetadata superMetadata;
+            try {
+                superMetadata = metadataReaderFactory.getMetadataReader(superClassName).getAnnotationMetadata();
+            } catch (IOException e) {
+                log.debug("Superclass '{}' couldn't be read: {}", superClassName, e.getMessage());
+                return false;
+            }
+            if (isAnnotated(superMetadata, annotationNames)) {
+                return true;
+            }
+            superClassName = superMetadata.getSuperClassName();
+        }
+        return false;
+    }
+}
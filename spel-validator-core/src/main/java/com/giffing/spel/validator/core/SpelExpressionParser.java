@@ -1,52 +1,129 @@
 package com.giffing.spel.validator.core;
 
+import com.giffing.spel.validator.core.listener.ScanListener;
 import com.giffing.spel.validator.core.result.ExpressionResult;
 import com.giffing.spel.validator.core.result.SpelMethod;
 import com.giffing.spel.validator.core.result.SpelMethodParam;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.Literal;
 import org.springframework.expression.spel.ast.MethodReference;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for parsing and analyzing SpEL expressions.
  */
 public class SpelExpressionParser {
 
-    private final org.springframework.expression.spel.standard.SpelExpressionParser parser = new org.springframework.expression.spel.standard.SpelExpressionParser();
+    private static final org.springframework.expression.spel.standard.SpelExpressionParser PARSER =
+            new org.springframework.expression.spel.standard.SpelExpressionParser();
+
+    private final SpelExpressionCache cache;
+
+    public SpelExpressionParser() {
+        this(null);
+    }
+
+    /**
+     * @param cache optional cache of the parsed expressions, repeated expressions are parsed only once
+     */
+    public SpelExpressionParser(SpelExpressionCache cache) {
+        this.cache = cache;
+    }
 
     /**
      * Parses the given SpEL expression and returns the result with all bean and method references.
+     * <p>
+     * If a cache is configured, the returned result is shared and unmodifiable.
      *
      * @param expressionValue the SpEL expression to parse
      * @return the result containing bean and method references
      */
     public ExpressionResult parseExpression(String expressionValue) {
-        var spelExpression = parser.parseRaw(expressionValue);
-        return traverseAst(spelExpression.getAST());
+        return parseExpression(expressionValue, ScanListener.NONE);
     }
 
-    private ExpressionResult traverseAst(SpelNode node) {
-        ExpressionResult result = new ExpressionResult();
-        if (node instanceof BeanReference b) {
-            result.addBeanReference(b.getName());
+    /**
+     * Parses the given SpEL expression and notifies the listener about the parse time or the cache hit.
+     *
+     * @param expressionValue the SpEL expression to parse
+     * @param listener        the listener to notify
+     * @return the result containing bean and method references
+     */
+    public ExpressionResult parseExpression(String expressionValue, ScanListener listener) {
+        if (cache != null) {
+            var parsed = new boolean[1];
+            var result = cache.get(expressionValue, expression -> {
+                parsed[0] = true;
+                return parse(expression, listener);
+            });
+            if (!parsed[0]) {
+                listener.expressionTakenFromCache(expressionValue);
+            }
+            return result;
         }
-        if (node instanceof MethodReference m) {
+        return parse(expressionValue, listener);
+    }
+
+    public Optional<SpelExpressionCache> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    /**
+     * Parses the given SpEL expression and passes all nodes of its AST to the visitor.
+     *
+     * @param expressionValue the SpEL expression to parse
+     * @param visitor         the visitor called for each node
+     */
+    public void visit(String expressionValue, SpelAstVisitor visitor) {
+        SpelAstVisitor.walk(parseAst(expressionValue), visitor);
+    }
+
+    /**
+     * @param expressionValue the SpEL expression to parse
+     * @return the root node of the AST of the expression
+     */
+    static SpelNode parseAst(String expressionValue) {
+        return PARSER.parseRaw(expressionValue).getAST();
+    }
 
-            List<SpelMethodParam> params = new java.util.ArrayList<>();
-            for (int i = 0; i < m.getChildCount(); i++) {
-                SpelNode argNode = m.getChild(i);
-                String value = argNode.toStringAST();
-                params.add(new SpelMethodParam(value));
+    private ExpressionResult parse(String expressionValue, ScanListener listener) {
+        var start = System.nanoTime();
+        var collector = new ReferenceCollector();
+        visit(expressionValue, collector);
+        listener.expressionParsed(expressionValue, collector.nodes, Duration.ofNanos(System.nanoTime() - start));
+        return collector.result;
+    }
+
+    /**
+     * Collects the bean and method references of all nodes into a single result.
+     */
+    private static class ReferenceCollector implements SpelAstVisitor {
+
+        private final ExpressionResult result = new ExpressionResult();
+
+        private int nodes;
+
+        @Override
+        public void visit(SpelNode node) {
+            nodes++;
+            if (node instanceof BeanReference b) {
+                result.addBeanReference(b.getName());
+            }
+            if (node instanceof MethodReference m) {
+                List<SpelMethodParam> params = new ArrayList<>(m.getChildCount());
+                for (int i = 0; i < m.getChildCount(); i++) {
+                    SpelNode argNode = m.getChild(i);
+                    String value = argNode.toStringAST();
+                    Object literal = argNode instanceof Literal l ? l.getLiteralValue().getValue() : null;
+                    params.add(new SpelMethodParam(value, literal));
+                }
+                result.addMethodReference(new SpelMethod(m.getName(), params));
             }
-            result.addMethodReference(new SpelMethod(m.getName(), params));
-        }
-        for (int i = 0; i < node.getChildCount(); i++) {
-            var subResult = traverseAst(node.getChild(i));
-            result.getBeanReferences().addAll(subResult.getBeanReferences());
-            result.getMethodReferences().addAll(subResult.getMethodReferences());
         }
-        return result;
     }
 }
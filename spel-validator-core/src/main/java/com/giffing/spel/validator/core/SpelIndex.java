@@ -0,0 +1,138 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The SpEL expressions recorded at compile time by the annotation processor of the module
+ * {@code spel-validator-processor}.
+ * <p>
+ * Every jar or class directory compiled with the processor contains an index resource at {@value #LOCATION}. The
+ * resources of all jars are merged, so the expressions can be read without scanning the classpath.
+ */
+@Slf4j
+public class SpelIndex {
+
+    public static final String LOCATION = "META-INF/spel-validator/spel-index";
+
+    private final List<Entry> entries;
+
+    private SpelIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * A recorded expression.
+     *
+     * @param className  the binary name of the class
+     * @param method     the method name or null if the annotation is declared on the class
+     * @param annotation the class name of the annotation
+     * @param attribute  the attribute of the annotation containing the expression
+     * @param expression the SpEL expression
+     */
+    public record Entry(String className, String method, String annotation, String attribute, String expression) {
+    }
+
+    /**
+     * Reads all index resources visible to the class loader.
+     *
+     * @param classLoader the class loader to find the index resources
+     * @return the merged index
+     */
+    public static SpelIndex load(ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            var resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                var resource = resources.nextElement();
+                try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .filter(line -> !line.isBlank())
+                            .forEach(line -> parse(line).ifPresentOrElse(entries::add,
+                                    () -> log.warn("[SpELValidator] Invalid line in {} ignored: {}", resource, line)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("SpEL index couldn't be read: " + e.getMessage(), e);
+        }
+        return new SpelIndex(List.copyOf(entries));
+    }
+
+    /**
+     * @return all recorded expressions
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Selects the expressions of the configured annotations and attributes within the configured packages.
+     *
+     * @param configuration the SpEL configuration
+     * @return the expressions ordered by class name, method name and the order of the configured annotations and
+     * attributes, class level expressions first
+     */
+    public List<Entry> getEntries(SpelConfiguration configuration) {
+        Map<String, AnnotationToScan> annotations = new HashMap<>();
+        Map<String, Integer> annotationOrder = new HashMap<>();
+        for (var annotation : configuration.getAnnotations()) {
+            annotations.putIfAbsent(annotation.getClassName(), annotation);
+            annotationOrder.putIfAbsent(annotation.getClassName(), annotationOrder.size());
+        }
+        Comparator<Entry> order = Comparator.comparing(Entry::className)
+                .thenComparing(Entry::method, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(entry -> annotationOrder.get(entry.annotation()))
+                .thenComparing(entry -> annotations.get(entry.annotation()).getAttributeNames().indexOf(entry.attribute()));
+        return entries.stream()
+                .filter(entry -> configuration.isIncluded(entry.className()))
+                .filter(entry -> {
+                    var annotation = annotations.get(entry.annotation());
+                    return annotation != null && annotation.getAttributeNames().contains(entry.attribute());
+                })
+                .sorted(order)
+                .toList();
+    }
+
+    private static Optional<Entry> parse(String line) {
+        var fields = line.split("\t", -1);
+        if (fields.length != 5 || fields[0].isEmpty() || fields[2].isEmpty()) {
+            return Optional.empty();
+        }
+        var method = unescape(fields[1]);
+        return Optional.of(new Entry(unescape(fields[0]), method.isEmpty() ? null : method,
+                unescape(fields[2]), unescape(fields[3]), unescape(fields[4])));
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        var unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                c = switch (value.charAt(++i)) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> value.charAt(i);
+                };
+            }
+            unescaped.append(c);
+        }
+        return unescaped.toString();
+    }
+}
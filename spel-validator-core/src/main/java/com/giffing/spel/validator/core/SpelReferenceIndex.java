@@ -0,0 +1,201 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.result.SpelMethodParam;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.rule.AllowList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the referenced beans, methods and method parameters to the expressions which use them, e.g. to
+ * answer where {@code hasRole('ROLE_LEGACY')} is used without iterating over all scan results.
+ * <p>
+ * Only valid expressions are indexed. The index is immutable and built once from a {@link SpelResultStore}.
+ * <pre>{@code
+ * var index = SpelReferenceIndex.of(scanner.scan(configuration));
+ * List<SpelScanResult> sites = index.findByMethodParameter("hasRole", "ROLE_LEGACY");
+ * }</pre>
+ */
+public class SpelReferenceIndex {
+
+    private final SpelResultStore resultStore;
+
+    /**
+     * The indexes of the results per bean name.
+     */
+    private final Map<String, int[]> beans;
+
+    /**
+     * The indexes of the results per method name.
+     */
+    private final Map<String, int[]> methods;
+
+    /**
+     * The indexes of the results per method name and parameter value, see {@link SpelMethodParam#getPlainValue()}.
+     */
+    private final Map<String, Map<String, int[]>> parameters;
+
+    private SpelReferenceIndex(SpelResultStore resultStore) {
+        this.resultStore = resultStore;
+        Map<String, BitSet> beanSites = new HashMap<>();
+        Map<String, BitSet> methodSites = new HashMap<>();
+        Map<String, Map<String, BitSet>> parameterSites = new HashMap<>();
+        for (int i = 0; i < resultStore.size(); i++) {
+            if (resultStore.getStatus(i) != SpelScanResult.Status.VALID) {
+                continue;
+            }
+            for (int beanId : resultStore.getBeanIds(i)) {
+                beanSites.computeIfAbsent(resultStore.getString(beanId), k -> new BitSet()).set(i);
+            }
+            for (int methodId : resultStore.getMethodIds(i)) {
+                var method = resultStore.getMethodReference(methodId);
+                methodSites.computeIfAbsent(method.getName(), k -> new BitSet()).set(i);
+                var methodParameters = parameterSites.computeIfAbsent(method.getName(), k -> new HashMap<>());
+                for (var param : method.getParams()) {
+                    methodParameters.computeIfAbsent(param.getPlainValue(), k -> new BitSet()).set(i);
+                }
+            }
+        }
+        this.beans = toArrays(beanSites);
+        this.methods = toArrays(methodSites);
+        this.parameters = new HashMap<>();
+        parameterSites.forEach((method, sites) -> this.parameters.put(method, toArrays(sites)));
+    }
+
+    public static SpelReferenceIndex of(SpelResultStore resultStore) {
+        return new SpelReferenceIndex(resultStore);
+    }
+
+    public static SpelReferenceIndex of(List<SpelScanResult> scanResults) {
+        return of(SpelResultStore.of(scanResults));
+    }
+
+    /**
+     * @return the names of all referenced beans
+     */
+    public Set<String> getBeans() {
+        return Set.copyOf(beans.keySet());
+    }
+
+    /**
+     * @return the names of all referenced methods
+     */
+    public Set<String> getMethods() {
+        return Set.copyOf(methods.keySet());
+    }
+
+    /**
+     * @param methodName the name of the method
+     * @return all parameter values passed to the method, literals without quotes
+     */
+    public Set<String> getParameters(String methodName) {
+        return Set.copyOf(parameters.getOrDefault(methodName, Map.of()).keySet());
+    }
+
+    /**
+     * @return the expressions referencing the bean ordered as the scan results
+     */
+    public List<SpelScanResult> findByBean(String beanName) {
+        return toResults(beans.get(beanName));
+    }
+
+    /**
+     * @return the expressions calling the method ordered as the scan results
+     */
+    public List<SpelScanResult> findByMethod(String methodName) {
+        return toResults(methods.get(methodName));
+    }
+
+    /**
+     * @param methodName the name of the method
+     * @param value      the parameter value, literals without quotes (e.g. {@code ROLE_LEGACY} for
+     *                   {@code hasRole('ROLE_LEGACY')})
+     * @return the expressions passing the value to the method ordered as the scan results
+     */
+    public List<SpelScanResult> findByMethodParameter(String methodName, String value) {
+        return toResults(parameters.getOrDefault(methodName, Map.of()).get(value));
+    }
+
+    /**
+     * @return the expressions referencing at least one bean which is not allowed
+     */
+    public List<SpelScanResult> findByBeansNotIn(AllowList allowedBeans) {
+        return toResults(findIndexesByBeansNotIn(allowedBeans));
+    }
+
+    /**
+     * @return the expressions calling at least one method which is not allowed
+     */
+    public List<SpelScanResult> findByMethodsNotIn(AllowList allowedMethods) {
+        return toResults(findIndexesByMethodsNotIn(allowedMethods));
+    }
+
+    /**
+     * @return the expressions passing at least one parameter value to the method which is not allowed
+     */
+    public List<SpelScanResult> findByMethodParametersNotIn(String methodName, AllowList allowedParams) {
+        return toResults(findIndexesByMethodParametersNotIn(methodName, allowedParams));
+    }
+
+    /**
+     * @return the ascending indexes in the result store of the expressions referencing at least one bean which is not
+     * allowed
+     */
+    public int[] findIndexesByBeansNotIn(AllowList allowedBeans) {
+        return notMatching(beans, allowedBeans);
+    }
+
+    /**
+     * @return the ascending indexes in the result store of the expressions calling at least one method which is not
+     * allowed
+     */
+    public int[] findIndexesByMethodsNotIn(AllowList allowedMethods) {
+        return notMatching(methods, allowedMethods);
+    }
+
+    /**
+     * @return the ascending indexes in the result store of the expressions passing at least one parameter value to the
+     * method which is not allowed
+     */
+    public int[] findIndexesByMethodParametersNotIn(String methodName, AllowList allowedParams) {
+        return notMatching(parameters.getOrDefault(methodName, Map.of()), allowedParams);
+    }
+
+    /**
+     * Collects the sites of all keys which don't match the allow list. Each distinct key is matched only once.
+     */
+    private static int[] notMatching(Map<String, int[]> sites, AllowList allowList) {
+        var result = new BitSet();
+        sites.forEach((key, indexes) -> {
+            if (!allowList.matches(key)) {
+                for (int index : indexes) {
+                    result.set(index);
+                }
+            }
+        });
+        return result.stream().toArray();
+    }
+
+    private List<SpelScanResult> toResults(int[] indexes) {
+        if (indexes == null) {
+            return List.of();
+        }
+        List<SpelScanResult> results = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            results.add(resultStore.get(index));
+        }
+        return results;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, BitSet> sites) {
+        Map<String, int[]> arrays = new HashMap<>(sites.size() * 2);
+        sites.forEach((key, indexes) -> arrays.put(key, indexes.stream().toArray()));
+        return arrays;
+    }
+}
@@ -0,0 +1,264 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of the scan results per class.
+ * <p>
+ * The results of a class are reused as long as neither its class file nor the class files it inherits expressions from
+ * change: the superclasses and interfaces, which {@code REFLECTION} mode merges, and the annotation types including
+ * their meta-annotations, e.g. a composed annotation defining the expression as default. Types of the JDK are assumed
+ * to be unchanged. The cache file is bound to the fingerprint of the {@link SpelConfiguration}, so changing the
+ * configuration starts with an empty cache. The cache is thread safe and can be used by parallel scans.
+ */
+@Slf4j
+public class SpelScanCache {
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.util.*;com.giffing.spel.validator.core.**;!*");
+
+    private static final SpelScanCache DISABLED = new SpelScanCache(null, Map.of(), null);
+
+    private final Path file;
+
+    private final Map<String, Entry> previousEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ClassLoader classLoader;
+
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    /**
+     * The content hashes of the supertypes and annotation types, they are shared by many classes.
+     */
+    private final Map<String, String> typeHashes = new ConcurrentHashMap<>();
+
+    /**
+     * The hashes of the candidates which were looked up but not found, so {@link #put(SpelCandidate, List)} doesn't
+     * read the class files again.
+     */
+    private final Map<String, String> missedHashes = new ConcurrentHashMap<>();
+
+    private SpelScanCache(Path file, Map<String, Entry> previousEntries, ClassLoader classLoader) {
+        this.file = file;
+        this.previousEntries = previousEntries;
+        this.classLoader = classLoader;
+        this.metadataReaderFactory = classLoader != null ? new CachingMetadataReaderFactory(classLoader) : null;
+    }
+
+    /**
+     * @return a disabled cache which never contains any results
+     */
+    public static SpelScanCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Opens the scan cache of the given configuration. If no cache directory is configured, a disabled cache is
+     * returned which never contains any results.
+     *
+     * @param configuration the SpEL configuration
+     * @return the scan cache
+     */
+    public static SpelScanCache open(SpelConfiguration configuration) {
+        if (configuration.getCacheDirectory() == null) {
+            return DISABLED;
+        }
+        var file = configuration.getCacheDirectory().resolve("spel-scan-" + configuration.getFingerprint() + ".cache");
+        return new SpelScanCache(file, read(file), configuration.getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Entry> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+        try (var in = new ObjectInputStream(Files.newInputStream(file))) {
+            in.setObjectInputFilter(FILTER);
+            return (Map<String, Entry>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("[SpELValidator] Scan cache '{}' couldn't be read, scanning all classes: {}", file, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Returns the cached results of the candidate if its class file didn't change since the last scan.
+     *
+     * @param candidate the candidate to look up
+     * @return the cached results or empty if the class has to be scanned
+     */
+    public Optional<List<SpelScanResult>> get(SpelCandidate candidate) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        var hash = hash(candidate);
+        var entry = previousEntries.get(candidate.getClassName());
+        if (entry == null || !entry.hash().equals(hash)) {
+            missedHashes.put(candidate.getClassName(), hash);
+            return Optional.empty();
+        }
+        entries.put(candidate.getClassName(), entry);
+        return Optional.of(entry.results());
+    }
+
+    /**
+     * Stores the results of a scanned candidate.
+     *
+     * @param candidate the scanned candidate
+     * @param results   the scan results of the candidate
+     */
+    public void put(SpelCandidate candidate, List<SpelScanResult> results) {
+        if (!isEnabled()) {
+            return;
+        }
+        var hash = missedHashes.remove(candidate.getClassName());
+        entries.put(candidate.getClassName(), new Entry(hash != null ? hash : hash(candidate), List.copyOf(results)));
+    }
+
+    /**
+     * Writes all entries of the current scan to the cache file. Classes which weren't part of the scan are removed.
+     */
+    public void store() {
+        if (!isEnabled()) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tempFile = Files.createTempFile(file.getParent(), "spel-scan", ".tmp");
+            try (var out = new ObjectOutputStream(Files.newOutputStream(tempFile))) {
+                out.writeObject(new HashMap<>(entries));
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("[SpELValidator] Scan cache '{}' couldn't be written: {}", file, e.getMessage());
+        } finally {
+            deleteIfExists(tempFile);
+        }
+    }
+
+    private static void deleteIfExists(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.debug("Temporary file '{}' couldn't be deleted: {}", tempFile, e.getMessage());
+        }
+    }
+
+    private String hash(SpelCandidate candidate) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(candidate.getResource().getContentAsByteArray());
+            for (var typeName : findDependencies(candidate.getMetadata())) {
+                digest.update(typeName.getBytes(StandardCharsets.UTF_8));
+                digest.update(typeHashes.computeIfAbsent(typeName, this::hashType).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | UncheckedIOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Class file of '%s' couldn't be read: %s".formatted(candidate.getClassName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Collects the supertypes of the class and the annotation types of the class, its methods and its supertypes.
+     *
+     * @return the sorted type names without the types of the JDK
+     */
+    private Set<String> findDependencies(AnnotationMetadata metadata) {
+        Set<String> dependencies = new TreeSet<>();
+        var types = new ArrayDeque<AnnotationMetadata>();
+        types.push(metadata);
+        while (!types.isEmpty()) {
+            var type = types.pop();
+            addAnnotationTypes(type.getAnnotations(), dependencies);
+            type.getDeclaredMethods().forEach(method -> addAnnotationTypes(method.getAnnotations(), dependencies));
+            List<String> superTypeNames = new ArrayList<>(List.of(type.getInterfaceNames()));
+            if (type.getSuperClassName() != null) {
+                superTypeNames.add(type.getSuperClassName());
+            }
+            for (var superTypeName : superTypeNames) {
+                if (!superTypeName.startsWith("java.") && dependencies.add(superTypeName)) {
+                    readMetadata(superTypeName).ifPresent(types::push);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Adds the types of the annotations including their meta-annotations.
+     */
+    private static void addAnnotationTypes(MergedAnnotations annotations, Set<String> dependencies) {
+        annotations.stream()
+                .map(annotation -> annotation.getType().getName())
+                .filter(typeName -> !typeName.startsWith("java."))
+                .forEach(dependencies::add);
+    }
+
+    private Optional<AnnotationMetadata> readMetadata(String typeName) {
+        try {
+            return Optional.of(metadataReaderFactory.getMetadataReader(typeName).getAnnotationMetadata());
+        } catch (IOException e) {
+            log.debug("Supertype '{}' couldn't be read: {}", typeName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the content hash of the class file of the type, a missing class file has a hash as well
+     */
+    private String hashType(String typeName) {
+        try (var in = classLoader.getResourceAsStream(ClassUtils.convertClassNameToResourcePath(typeName) + ".class")) {
+            if (in == null) {
+                return "-";
+            }
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(in.readAllBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(String hash, List<SpelScanResult> results) implements Serializable {
+    }
+}
@@ -0,0 +1,156 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.PackageMatcher;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe registry of scan results which can be shared by many assertions, e.g. by all tests of a JVM.
+ * <p>
+ * Each package is scanned only once per set of annotations, extraction mode and class loader. Packages which lie
+ * within an already scanned package aren't scanned again, the results of the enclosing package are filtered instead.
+ * Concurrent requests for the same package wait for the running scan.
+ * <p>
+ * Sibling packages don't enclose each other, so each of them is traversed on its own. To traverse the classpath only
+ * once, scan the union of all packages first, e.g. with the include packages of the {@link SpelConfiguration}. The
+ * results of each single package are then filtered from the results of the union.
+ */
+@Slf4j
+public class SpelScanSession {
+
+    private final SpelScanner spelScanner;
+
+    private final Map<ScanKey, CompletableFuture<List<SpelScanResult>>> scans = new ConcurrentHashMap<>();
+
+    public SpelScanSession() {
+        this(new SpelScanner(new SpelExpressionParser()));
+    }
+
+    public SpelScanSession(SpelScanner spelScanner) {
+        this.spelScanner = spelScanner;
+    }
+
+    /**
+     * Returns the results of the configured packages. The packages are only scanned if neither the packages
+     * themselves nor enclosing packages were scanned before with the same settings.
+     *
+     * @param configuration the SpEL configuration
+     * @return the unmodifiable scan results ordered by class name and method name
+     */
+    public List<SpelScanResult> scan(SpelConfiguration configuration) {
+        var key = ScanKey.of(configuration);
+        var enclosingScan = findEnclosingScan(key);
+        if (enclosingScan != null) {
+            return filter(enclosingScan.join(), configuration);
+        }
+        var scan = new CompletableFuture<List<SpelScanResult>>();
+        var runningScan = scans.putIfAbsent(key, scan);
+        if (runningScan != null) {
+            return runningScan.join();
+        }
+        try {
+            log.debug("[SpELValidator] Scanning packages {}", key.packages());
+            scan.complete(List.copyOf(spelScanner.scan(configuration)));
+        } catch (RuntimeException | Error e) {
+            scans.remove(key, scan);
+            scan.completeExceptionally(e);
+            throw e;
+        }
+        return scan.join();
+    }
+
+    /**
+     * Forgets all scan results, e.g. after the classes were recompiled.
+     */
+    public void clear() {
+        scans.clear();
+    }
+
+    /**
+     * @return the number of packages which were scanned
+     */
+    public int size() {
+        return scans.size();
+    }
+
+    private CompletableFuture<List<SpelScanResult>> findEnclosingScan(ScanKey key) {
+        for (var entry : scans.entrySet()) {
+            var scanned = entry.getKey();
+            if (scanned.hasSameSettings(key) && !scanned.equals(key) && scanned.encloses(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Selects the results within the configured packages. Deduplicated results keep only their sites within the
+     * packages.
+     */
+    private static List<SpelScanResult> filter(List<SpelScanResult> results, SpelConfiguration configuration) {
+        List<SpelScanResult> filtered = new ArrayList<>();
+        for (var result : results) {
+            if (result.getSites().size() == 1) {
+                if (configuration.isIncluded(result.getClassName())) {
+                    filtered.add(result);
+                }
+                continue;
+            }
+            var sites = result.getSites().stream()
+                    .filter(site -> configuration.isIncluded(site.className()))
+                    .toList();
+            if (sites.size() == result.getSites().size()) {
+                filtered.add(result);
+            } else if (!sites.isEmpty()) {
+                filtered.add(new SpelScanResult(result.getStatus(), null, sites.get(0).className(), sites.get(0).method(),
+                        result.getExpression(), result.getErrorMessage(), result.getExpressionResult(), sites));
+            }
+        }
+        return List.copyOf(filtered);
+    }
+
+    /**
+     * @param packages the sorted root packages of the configuration
+     */
+    private record ScanKey(List<String> packages, List<String> excludePackages, List<AnnotationToScan> annotations,
+                           ExtractionMode extractionMode, ClassLoader classLoader, boolean deduplicate) {
+
+        static ScanKey of(SpelConfiguration configuration) {
+            var annotations = configuration.getAnnotations()
+                    .stream()
+                    .map(annotation -> {
+                        var copy = new AnnotationToScan(annotation.getClassName());
+                        copy.setAttributeNames(annotation.getAttributeNames());
+                        return copy;
+                    })
+                    .toList();
+            return new ScanKey(configuration.getRootPackages().stream().sorted().toList(),
+                    configuration.getExcludePackages().stream().sorted().toList(), annotations,
+                    configuration.getExtractionMode(), configuration.getClassLoader(), configuration.isDeduplicate());
+        }
+
+        boolean hasSameSettings(ScanKey other) {
+            return annotations.equals(other.annotations)
+                    && extractionMode == other.extractionMode
+                    && classLoader == other.classLoader
+                    && deduplicate == other.deduplicate;
+        }
+
+        /**
+         * @return true if the results of this key contain all results of the other key
+         */
+        boolean encloses(ScanKey other) {
+            return excludePackages.isEmpty()
+                    && other.packages.stream().allMatch(packageName -> PackageMatcher.isWithinAny(packageName, packages));
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package com.giffing.spel.validator.core;
 
-import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.PackageMatcher;
+import com.giffing.spel.validator.core.config.ResolvedAnnotation;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
 import com.giffing.spel.validator.core.result.SpelScanResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.springframework.core.annotation.MergedAnnotations.SearchStrategy.TYPE_HIERARCHY;
 
@@ -19,81 +44,380 @@ import static org.springframework.core.annotation.MergedAnnotations.SearchStrate
 @Slf4j
 public class SpelScanner {
 
+    /**
+     * The size of the expression cache used to parse each unique expression only once while deduplicating.
+     */
+    private static final int DEDUPLICATION_CACHE_SIZE = 100_000;
+
     private final SpelExpressionParser spelExpressionParser;
 
     /**
-     * Dertermines all classes in the configured base package that are annotated with one of the configured annotations.
+     * Dertermines all classes in the configured packages that are annotated with one of the configured annotations.
+     * <p>
+     * The candidate classes are scanned in parallel if an executor is configured. In both cases the results are
+     * ordered by class name and method name. If a cache directory is configured, only the classes which changed since
+     * the last scan are processed.
+     * <p>
+     * If deduplication is enabled, the results of identical expressions are merged and each unique expression is
+     * parsed only once. A temporary expression cache is used if the parser has none.
      */
     public List<SpelScanResult> scan(SpelConfiguration configuration) {
+        if (configuration.isDeduplicate()) {
+            var scanner = spelExpressionParser.getCache().isPresent()
+                    ? this
+                    : new SpelScanner(new SpelExpressionParser(new SpelExpressionCache(DEDUPLICATION_CACHE_SIZE)));
+            return SpelExpressionDeduplicator.deduplicate(scanner.scanSites(configuration));
+        }
+        return scanSites(configuration);
+    }
+
+    private List<SpelScanResult> scanSites(SpelConfiguration configuration) {
+        var start = System.nanoTime();
+        if (configuration.getExtractionMode() == ExtractionMode.INDEX) {
+            var results = scanIndex(configuration).collect(Collectors.toCollection(ArrayList::new));
+            finished(configuration, results.size(), start);
+            return results;
+        }
+        var candidates = SpelExpressionLocator.indexCandidates(configuration);
+        var cache = SpelScanCache.open(configuration);
+        var results = scanAll(configuration, candidates, candidate -> scanClass(configuration, candidate, cache));
+        cache.store();
+        finished(configuration, results.size(), start);
+        return results;
+    }
+
+    /**
+     * Scans the class files of the configured packages in a classes directory, e.g. the build output, without
+     * traversing the classpath. The class files are always read as bytecode, the classes aren't loaded. The executor
+     * and the scan cache of the configuration are used as in {@link #scan(SpelConfiguration)}.
+     *
+     * @param configuration    the SpEL configuration
+     * @param classesDirectory the root of the classes directory
+     * @return the scan results ordered by class name and method name
+     */
+    public List<SpelScanResult> scanClassesDirectory(SpelConfiguration configuration, Path classesDirectory) {
+        var start = System.nanoTime();
+        var classFiles = SpelClassFiles.find(classesDirectory)
+                .stream()
+                .filter(classFile -> SpelClassFiles.isScanned(configuration, SpelClassFiles.toClassName(classesDirectory, classFile)))
+                .sorted(Comparator.comparing(classFile -> SpelClassFiles.toClassName(classesDirectory, classFile)))
+                .toList();
+        var cache = SpelScanCache.open(configuration);
+        var results = scanAll(configuration, classFiles, classFile -> scanClassFile(configuration,
+                SpelClassFiles.toClassName(classesDirectory, classFile), new FileSystemResource(classFile), cache));
+        cache.store();
+        finished(configuration, results.size(), start);
+        return results;
+    }
+
+    /**
+     * Reads the expressions of a single class file without loading the class, e.g. a class file of a jar or a changed
+     * class file of the build output. The configured packages and extraction mode are not considered. Interfaces,
+     * annotation types and inner classes have no results, as in {@link SpelExpressionLocator}. A class file which
+     * can't be read is reported as an invalid result of the class.
+     *
+     * @param configuration the SpEL configuration
+     * @param className     the fully qualified name of the class
+     * @param classFile     the content of the class file
+     * @return the scan results ordered by method name
+     */
+    public List<SpelScanResult> scanClassFile(SpelConfiguration configuration, String className, Resource classFile) {
+        return scanClassFile(configuration, className, classFile, SpelScanCache.disabled());
+    }
+
+    private List<SpelScanResult> scanClassFile(SpelConfiguration configuration, String className, Resource classFile,
+                                               SpelScanCache cache) {
+        AnnotationMetadata metadata;
+        try {
+            metadata = new SimpleMetadataReaderFactory(configuration.getClassLoader())
+                    .getMetadataReader(classFile)
+                    .getAnnotationMetadata();
+        } catch (IOException | RuntimeException e) {
+            log.error("[SpELValidator] Class '{}' couldn't be scanned: {}", className, e.getMessage());
+            var results = List.of(SpelScanResult.invalid(className, null, null, e.getMessage()));
+            configuration.getScanListener().classScanned(className, results, Duration.ZERO);
+            return results;
+        }
+        if (!metadata.isIndependent() || metadata.isInterface()) {
+            return List.of();
+        }
+        return scanClass(configuration, new SpelCandidate(className, classFile, false, Set.of(), metadata), cache,
+                ExtractionMode.BYTECODE);
+    }
+
+    /**
+     * Scans the items one after another or in parallel if an executor is configured.
+     *
+     * @return the results in the order of the items
+     */
+    private static <T> List<SpelScanResult> scanAll(SpelConfiguration configuration, List<T> items,
+                                                    Function<T, List<SpelScanResult>> scan) {
         List<SpelScanResult> results = new ArrayList<>();
-        var candidates = SpelExpressionLocator.findCandidates(configuration);
-        for (var candidate : candidates) {
-            results.addAll(handleClassAnnotations(configuration, candidate));
-            results.addAll(handleMethodsAnnotations(configuration, candidate));
+        if (configuration.getExecutor() == null) {
+            for (var item : items) {
+                results.addAll(scan.apply(item));
+            }
+            return results;
+        }
+        var futures = items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> scan.apply(item), configuration.getExecutor()))
+                .toList();
+        for (var future : futures) {
+            results.addAll(future.join());
         }
         return results;
     }
 
-    private List<SpelScanResult> handleClassAnnotations(SpelConfiguration configuration, Class<?> clazz) {
+    /**
+     * Scans the configured packages lazily. The classes are scanned one after another while the stream is
+     * consumed, so the results of already consumed classes can be garbage collected. The executor of the configuration
+     * is not used.
+     * <p>
+     * The stream should be closed after use, e.g. with try-with-resources, to write the scan cache. If deduplication
+     * is enabled, all classes are scanned before the first result is returned.
+     *
+     * @param configuration the SpEL configuration
+     * @return the stream of scan results ordered by class name and method name
+     */
+    public Stream<SpelScanResult> stream(SpelConfiguration configuration) {
+        if (configuration.isDeduplicate()) {
+            return scan(configuration).stream();
+        }
+        var start = System.nanoTime();
+        var count = new AtomicInteger();
+        if (configuration.getExtractionMode() == ExtractionMode.INDEX) {
+            return scanIndex(configuration)
+                    .peek(result -> count.incrementAndGet())
+                    .onClose(() -> finished(configuration, count.get(), start));
+        }
+        var candidates = new ArrayDeque<>(SpelExpressionLocator.indexCandidates(configuration));
+        var cache = SpelScanCache.open(configuration);
+        return Stream.generate(candidates::poll)
+                .takeWhile(Objects::nonNull)
+                .flatMap(candidate -> scanClass(configuration, candidate, cache).stream())
+                .peek(result -> count.incrementAndGet())
+                .onClose(cache::store)
+                .onClose(() -> finished(configuration, count.get(), start));
+    }
+
+    /**
+     * Scans the configured packages and passes each result to the consumer as soon as its class is scanned.
+     *
+     * @param configuration the SpEL configuration
+     * @param consumer      receives the scan results ordered by class name and method name
+     */
+    public void scan(SpelConfiguration configuration, Consumer<SpelScanResult> consumer) {
+        try (var results = stream(configuration)) {
+            results.forEach(consumer);
+        }
+    }
+
+    /**
+     * Scans all configured packages at once and partitions the results by package, e.g. to scope rules to a bounded
+     * context. Each result is assigned to the most specific configured package containing its class, see
+     * {@link PackageMatcher#MOST_SPECIFIC_FIRST}. A deduplicated result is assigned to the package of each of its
+     * sites, so the rules of every package see it.
+     *
+     * @param configuration the SpEL configuration
+     * @return the results per configured package in the order of the configuration, ordered by class name and method
+     * name
+     */
+    public Map<String, List<SpelScanResult>> scanPartitioned(SpelConfiguration configuration) {
+        Map<String, List<SpelScanResult>> partitions = new LinkedHashMap<>();
+        configuration.getPackages().forEach(packageName -> partitions.put(packageName, new ArrayList<>()));
+        var packagesBySpecificity = configuration.getPackages()
+                .stream()
+                .sorted(PackageMatcher.MOST_SPECIFIC_FIRST)
+                .toList();
+        for (var result : scan(configuration)) {
+            result.getSites().stream()
+                    .map(site -> getMostSpecificPackage(packagesBySpecificity, site.className()))
+                    .flatMap(Optional::stream)
+                    .distinct()
+                    .forEach(configuredPackage -> partitions.get(configuredPackage).add(result));
+        }
+        return partitions;
+    }
+
+    private static Optional<String> getMostSpecificPackage(List<String> packagesBySpecificity, String className) {
+        var packageName = ClassUtils.getPackageName(className);
+        return packagesBySpecificity.stream()
+                .filter(configuredPackage -> PackageMatcher.isWithin(packageName, configuredPackage))
+                .findFirst();
+    }
+
+    /**
+     * Scans a single class. A failure while reading the annotations of the class doesn't abort the whole scan, it is
+     * reported as an invalid result of the class instead.
+     * <p>
+     * Unchanged classes are taken from the scan cache if it is enabled.
+     */
+    private List<SpelScanResult> scanClass(SpelConfiguration configuration, SpelCandidate candidate, SpelScanCache cache) {
+        return scanClass(configuration, candidate, cache, configuration.getExtractionMode());
+    }
+
+    private List<SpelScanResult> scanClass(SpelConfiguration configuration, SpelCandidate candidate, SpelScanCache cache,
+                                           ExtractionMode extractionMode) {
+        var listener = configuration.getScanListener();
+        var start = System.nanoTime();
+        try {
+            var cachedResults = cache.get(candidate);
+            if (cachedResults.isPresent()) {
+                listener.classTakenFromCache(candidate.getClassName(), cachedResults.get());
+                return cachedResults.get();
+            }
+            var results = switch (extractionMode) {
+                case REFLECTION -> scanLoadedClass(configuration, candidate);
+                case BYTECODE -> scanClassFile(configuration, candidate);
+                case INDEX -> throw new IllegalStateException("Indexed expressions have no candidates");
+            };
+            cache.put(candidate, results);
+            listener.classScanned(candidate.getClassName(), results, Duration.ofNanos(System.nanoTime() - start));
+            return results;
+        } catch (Exception | LinkageError e) {
+            log.error("[SpELValidator] Class '{}' couldn't be scanned: {}", candidate.getClassName(), e.getMessage());
+            var results = List.of(SpelScanResult.invalid(candidate.getClassName(), null, null, e.getMessage()));
+            listener.classScanned(candidate.getClassName(), results, Duration.ofNanos(System.nanoTime() - start));
+            return results;
+        }
+    }
+
+    private static void finished(SpelConfiguration configuration, int expressions, long start) {
+        configuration.getScanListener().scanFinished(expressions, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Parses the expressions recorded in the SpEL index at compile time.
+     */
+    private Stream<SpelScanResult> scanIndex(SpelConfiguration configuration) {
+        return SpelIndex.load(configuration.getClassLoader())
+                .getEntries(configuration)
+                .stream()
+                .map(entry -> parseExpression(configuration, entry.expression(), null, entry.className(), entry.method()));
+    }
+
+    private List<SpelScanResult> scanLoadedClass(SpelConfiguration configuration, SpelCandidate candidate) throws ClassNotFoundException {
+        var clazz = ClassUtils.forName(candidate.getClassName(), configuration.getClassLoader());
         List<SpelScanResult> results = new ArrayList<>();
-        for (var annotationToScan : configuration.getAnnotations()) {
-            if (annotationToScan.isAnnotation()) {
-                getExpressionFromClass(clazz, annotationToScan)
-                        .map(expression -> parseExpression(expression, clazz, null))
-                        .ifPresent(results::add);
+        results.addAll(handleClassAnnotations(configuration, clazz));
+        results.addAll(handleMethodsAnnotations(configuration, clazz));
+        return results;
+    }
+
+    private List<SpelScanResult> scanClassFile(SpelConfiguration configuration, SpelCandidate candidate) {
+        return scanClassFile(configuration, candidate.getMetadata());
+    }
+
+    /**
+     * Reads the expressions from the annotation attributes of a class file without loading the class, e.g. for class
+     * files which aren't on the classpath. The configured packages and extraction mode are not considered.
+     *
+     * @param configuration the SpEL configuration
+     * @param metadata      the annotation metadata read from the class file
+     * @return the scan results ordered by method name
+     */
+    public List<SpelScanResult> scanClassFile(SpelConfiguration configuration, AnnotationMetadata metadata) {
+        var annotations = configuration.getResolvedAnnotations();
+        List<SpelScanResult> results = new ArrayList<>();
+        for (var expression : getExpressions(metadata.getAnnotations(), annotations)) {
+            results.add(parseExpression(configuration, expression, null, metadata.getClassName(), null));
+        }
+        var methods = metadata.getDeclaredMethods()
+                .stream()
+                .sorted(Comparator.comparing(MethodMetadata::getMethodName))
+                .toList();
+        for (MethodMetadata method : methods) {
+            for (var expression : getExpressions(method.getAnnotations(), annotations)) {
+                results.add(parseExpression(configuration, expression, null, metadata.getClassName(), method.getMethodName()));
             }
         }
         return results;
     }
 
+    private List<SpelScanResult> handleClassAnnotations(SpelConfiguration configuration, Class<?> clazz) {
+        List<SpelScanResult> results = new ArrayList<>();
+        var mergedAnnotations = MergedAnnotations.from(clazz, TYPE_HIERARCHY);
+        for (var expression : getExpressions(mergedAnnotations, configuration.getResolvedAnnotations())) {
+            results.add(parseExpression(configuration, expression, clazz, clazz.getName(), null));
+        }
+        return results;
+    }
+
     private List<SpelScanResult> handleMethodsAnnotations(SpelConfiguration configuration, Class<?> clazz) {
         List<SpelScanResult> results = new ArrayList<>();
-        for (Method method : clazz.getDeclaredMethods()) {
-            for (var annotationToScan : configuration.getAnnotations()) {
-                if (annotationToScan.isAnnotation()) {
-                    getExpressionFromMethod(method, annotationToScan)
-                            .map(expression ->
-                                    parseExpression(expression, clazz, method.getName()))
-                            .ifPresent(results::add);
-                }
+        var methods = Arrays.stream(clazz.getDeclaredMethods())
+                .sorted(Comparator.comparing(Method::getName).thenComparing(Method::toGenericString))
+                .toList();
+        for (Method method : methods) {
+            var mergedAnnotations = MergedAnnotations.from(method, TYPE_HIERARCHY);
+            for (var expression : getExpressions(mergedAnnotations, configuration.getResolvedAnnotations())) {
+                results.add(parseExpression(configuration, expression, clazz, clazz.getName(), method.getName()));
             }
         }
         return results;
     }
 
-    private Optional<String> getExpressionFromClass(Class<?> clazz, AnnotationToScan annotationToScan) {
-        try {
-            MergedAnnotation<?> mergedAnnotation = MergedAnnotations.from(clazz, TYPE_HIERARCHY)
-                    .get(annotationToScan.getAnnotationClass());
-            if (mergedAnnotation.isPresent()) {
-                return mergedAnnotation.getValue(annotationToScan.getAttributeName(), String.class);
+    /**
+     * Reads the expressions of all configured annotations of a single element. The merged annotations are walked only
+     * once for all configured annotations. As with {@link MergedAnnotations#get(Class)} the nearest annotation of each
+     * type is used.
+     *
+     * @return the expressions in the order of the configured annotations and their attributes
+     */
+    private List<String> getExpressions(MergedAnnotations mergedAnnotations, List<ResolvedAnnotation> annotations) {
+        Map<Class<?>, MergedAnnotation<?>> nearest = new HashMap<>();
+        mergedAnnotations.stream().forEach(mergedAnnotation -> {
+            if (isConfigured(mergedAnnotation.getType(), annotations)) {
+                nearest.merge(mergedAnnotation.getType(), mergedAnnotation, (current, candidate) ->
+                        candidate.getDistance() < current.getDistance() ? candidate : current);
+            }
+        });
+        if (nearest.isEmpty()) {
+            return List.of();
+        }
+        List<String> expressions = new ArrayList<>();
+        for (var annotation : annotations) {
+            var mergedAnnotation = nearest.get(annotation.getType());
+            if (mergedAnnotation != null) {
+                addExpressions(mergedAnnotation, annotation, expressions);
             }
-            return Optional.empty();
-        } catch (Exception e) {
-            log.error("[SpELValidator] Fehler beim Auslesen der Annotation '{}': {}", annotationToScan.getClassName(), e.getMessage());
-            throw new IllegalStateException("SpEl expression couldn't be extracted: " + e.getMessage(), e);
         }
+        return expressions;
     }
 
-    private Optional<String> getExpressionFromMethod(Method method, AnnotationToScan annotationToScan) {
+    private static boolean isConfigured(Class<?> type, List<ResolvedAnnotation> annotations) {
+        for (var annotation : annotations) {
+            if (annotation.getType() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addExpressions(MergedAnnotation<?> mergedAnnotation, ResolvedAnnotation annotation, List<String> expressions) {
         try {
-            MergedAnnotation<?> mergedAnnotation = MergedAnnotations.from(method, TYPE_HIERARCHY)
-                    .get(annotationToScan.getAnnotationClass());
-            if (mergedAnnotation.isPresent()) {
-                return mergedAnnotation.getValue(annotationToScan.getAttributeName(), String.class);
+            for (var attributeName : annotation.getAttributeNames()) {
+                var value = mergedAnnotation.getValue(attributeName).orElse(null);
+                if (value instanceof String expression) {
+                    expressions.add(expression);
+                } else if (value instanceof String[] values) {
+                    expressions.addAll(Arrays.asList(values));
+                } else if (value != null) {
+                    throw new IllegalArgumentException("Attribute '" + attributeName + "' is not of type String");
+                }
             }
-            return Optional.empty();
         } catch (Exception e) {
+            log.error("[SpELValidator] Fehler beim Auslesen der Annotation '{}': {}", annotation.getClassName(), e.getMessage());
             throw new IllegalStateException("SpEl expression couldn't be extracted: " + e.getMessage(), e);
         }
     }
 
-    private SpelScanResult parseExpression(String expressionValue, Class<?> className, String methodName) {
+    private SpelScanResult parseExpression(SpelConfiguration configuration, String expressionValue, Class<?> clazz, String className, String methodName) {
         try {
-            var expressionResult = spelExpressionParser.parseExpression(expressionValue);
-            return SpelScanResult.valid(className, methodName, expressionValue, expressionResult);
+            var expressionResult = spelExpressionParser.parseExpression(expressionValue, configuration.getScanListener());
+            return new SpelScanResult(SpelScanResult.Status.VALID, clazz, className, methodName, expressionValue, null, expressionResult);
         } catch (Exception e) {
-            return SpelScanResult.invalid(className, methodName, expressionValue, e.getMessage());
+            return new SpelScanResult(SpelScanResult.Status.INVALID, clazz, className, methodName, expressionValue, e.getMessage(), null);
         }
     }
 
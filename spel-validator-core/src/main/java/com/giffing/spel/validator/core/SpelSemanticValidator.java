@@ -0,0 +1,222 @@
+package com.giffing.spel.validator.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.Indexer;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.Projection;
+import org.springframework.expression.spel.ast.Selection;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the bean and method references of SpEL expressions against the real types, e.g. to find
+ * {@code @mySecurityBean.canRead(#id)} if the bean or its method doesn't exist.
+ * <p>
+ * Methods called on the root object (e.g. {@code hasRole('ADMIN')}) are resolved against the root type, methods
+ * called on a bean against the type of the bean. If a method is found and all its overloads with the same number of
+ * parameters have the same return type, the following methods of the chain are resolved against the return type.
+ * References whose type can't be determined, e.g. on variables or properties, are not checked.
+ * <p>
+ * The reflective lookups are cached per type, method name and number of arguments. The validator is thread safe, so
+ * the expressions can be checked in parallel.
+ * <pre>{@code
+ * var validator = SpelSemanticValidator.forApplicationContext(
+ *         SpelSemanticValidator.methodSecurityRootType().orElseThrow(), applicationContext);
+ * List<String> problems = validator.validate("@mySecurityBean.canRead(#id)");
+ * }</pre>
+ */
+@Slf4j
+public class SpelSemanticValidator {
+
+    /**
+     * The interface of the root object of the Spring Security method security expressions.
+     */
+    private static final String METHOD_SECURITY_ROOT_TYPE =
+            "org.springframework.security.access.expression.method.MethodSecurityExpressionOperations";
+
+    private final Class<?> rootType;
+
+    private final Function<String, BeanLookup> beanResolver;
+
+    private final Map<String, BeanLookup> beans = new ConcurrentHashMap<>();
+
+    private final Map<MethodKey, MethodLookup> methods = new ConcurrentHashMap<>();
+
+    private SpelSemanticValidator(Class<?> rootType, Function<String, BeanLookup> beanResolver) {
+        this.rootType = rootType;
+        this.beanResolver = beanResolver;
+    }
+
+    /**
+     * @param rootType  the type of the root object or null if the methods of the root object shouldn't be checked
+     * @param beanTypes the types of all beans which can be referenced
+     * @return the validator
+     */
+    public static SpelSemanticValidator forBeanTypes(Class<?> rootType, Map<String, Class<?>> beanTypes) {
+        var types = Map.copyOf(beanTypes);
+        return new SpelSemanticValidator(rootType, name -> {
+            var type = types.get(name);
+            return type != null ? new BeanLookup(true, type) : BeanLookup.MISSING;
+        });
+    }
+
+    /**
+     * @param rootType           the type of the root object or null if the methods of the root object shouldn't be
+     *                           checked
+     * @param applicationContext the context containing the beans which can be referenced
+     * @return the validator
+     */
+    public static SpelSemanticValidator forApplicationContext(Class<?> rootType, ApplicationContext applicationContext) {
+        return new SpelSemanticValidator(rootType, name -> applicationContext.containsBean(name)
+                ? new BeanLookup(true, applicationContext.getType(name))
+                : BeanLookup.MISSING);
+    }
+
+    /**
+     * @return the type of the root object of the Spring Security method security expressions if Spring Security is
+     * on the classpath
+     */
+    public static Optional<Class<?>> methodSecurityRootType() {
+        try {
+            return Optional.of(ClassUtils.forName(METHOD_SECURITY_ROOT_TYPE, SpelSemanticValidator.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("[SpELValidator] Spring Security not on classpath: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolves all bean and method references of the expression.
+     *
+     * @param expression the SpEL expression
+     * @return a message for each reference which can't be resolved, empty if the expression is syntactically invalid
+     */
+    public List<String> validate(String expression) {
+        SpelNode ast;
+        try {
+            ast = SpelExpressionParser.parseAst(expression);
+        } catch (RuntimeException e) {
+            return List.of();
+        }
+        List<String> problems = new ArrayList<>();
+        check(ast, rootType, problems);
+        return problems;
+    }
+
+    /**
+     * Checks a node which is evaluated against a value of the given type, null if the type is unknown.
+     */
+    private void check(SpelNode node, Class<?> contextType, List<String> problems) {
+        if (node instanceof CompoundExpression) {
+            var type = resolve(node.getChild(0), contextType, problems);
+            for (int i = 1; i < node.getChildCount(); i++) {
+                var child = node.getChild(i);
+                if (child instanceof MethodReference method) {
+                    type = resolveMethod(method, type, problems);
+                } else {
+                    // properties, indexers, selections, ... are evaluated against values of unknown type, but their
+                    // nested expressions may still reference beans, e.g. @a.items[@missing.x()]
+                    resolve(child, null, problems);
+                    type = null;
+                }
+            }
+        } else {
+            resolve(node, contextType, problems);
+        }
+    }
+
+    /**
+     * @return the type of the value of the node or null if it is unknown
+     */
+    private Class<?> resolve(SpelNode node, Class<?> contextType, List<String> problems) {
+        if (node instanceof BeanReference bean) {
+            var lookup = beans.computeIfAbsent(bean.getName(), beanResolver);
+            if (!lookup.exists()) {
+                problems.add("Bean '%s' doesn't exist".formatted(bean.getName()));
+            }
+            return lookup.type();
+        }
+        if (node instanceof MethodReference method) {
+            return resolveMethod(method, contextType, problems);
+        }
+        // selections and projections evaluate their criteria against the elements, indexers their index against the
+        // root, operators their operands against the same value as themselves
+        Class<?> childContextType;
+        if (node instanceof Selection || node instanceof Projection) {
+            childContextType = null;
+        } else if (node instanceof Indexer) {
+            childContextType = rootType;
+        } else {
+            childContextType = contextType;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            check(node.getChild(i), childContextType, problems);
+        }
+        return null;
+    }
+
+    /**
+     * The arguments are evaluated against the root object, the method itself against the given type.
+     */
+    private Class<?> resolveMethod(MethodReference method, Class<?> type, List<String> problems) {
+        for (int i = 0; i < method.getChildCount(); i++) {
+            check(method.getChild(i), rootType, problems);
+        }
+        if (type == null) {
+            return null;
+        }
+        var lookup = methods.computeIfAbsent(new MethodKey(type, method.getName(), method.getChildCount()),
+                SpelSemanticValidator::findMethod);
+        if (!lookup.exists()) {
+            problems.add("Method '%s' with %d parameter(s) doesn't exist on '%s'"
+                    .formatted(method.getName(), method.getChildCount(), type.getName()));
+        }
+        return lookup.returnType();
+    }
+
+    private static MethodLookup findMethod(MethodKey key) {
+        var candidates = Stream.concat(Arrays.stream(key.type().getMethods()), Arrays.stream(Object.class.getMethods()))
+                .filter(method -> method.getName().equals(key.name()))
+                .filter(method -> accepts(method, key.arity()))
+                .toList();
+        if (candidates.isEmpty()) {
+            return MethodLookup.MISSING;
+        }
+        var returnTypes = candidates.stream().map(Method::getReturnType).distinct().toList();
+        return new MethodLookup(true, returnTypes.size() == 1 && returnTypes.get(0) != void.class ? returnTypes.get(0) : null);
+    }
+
+    private static boolean accepts(Method method, int arity) {
+        return method.getParameterCount() == arity || (method.isVarArgs() && arity >= method.getParameterCount() - 1);
+    }
+
+    private record MethodKey(Class<?> type, String name, int arity) {
+    }
+
+    /**
+     * @param returnType the return type if it is the same for all matching methods, otherwise null
+     */
+    private record MethodLookup(boolean exists, Class<?> returnType) {
+        static final MethodLookup MISSING = new MethodLookup(false, null);
+    }
+
+    /**
+     * @param type the type of the bean or null if it is unknown
+     */
+    private record BeanLookup(boolean exists, Class<?> type) {
+        static final BeanLookup MISSING = new BeanLookup(false, null);
+    }
+}
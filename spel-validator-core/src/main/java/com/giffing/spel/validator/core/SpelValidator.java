@@ -1,92 +1,97 @@
 package com.giffing.spel.validator.core;
 
+import com.giffing.spel.validator.core.result.SpelResultStore;
 import com.giffing.spel.validator.core.result.SpelScanResult;
-import com.giffing.spel.validator.core.result.SpelMethod;
 import com.giffing.spel.validator.core.result.ValidationItem;
 import com.giffing.spel.validator.core.result.ValidationResult;
-import lombok.RequiredArgsConstructor;
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.MethodParameterRule;
+import com.giffing.spel.validator.core.rule.ResolvesReferencesRule;
+import com.giffing.spel.validator.core.rule.SpelRule;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import com.giffing.spel.validator.core.rule.UsesOnlyBeansRule;
+import com.giffing.spel.validator.core.rule.UsesOnlyMethodsRule;
+import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Validator for SpEL expressions based on scan results.
+ * <p>
+ * The scan results are kept in a compact {@link SpelResultStore}. The checks of the allowed beans, methods and
+ * parameter values look up the distinct references in a {@link SpelReferenceIndex} and only check the expressions
+ * which use a reference that isn't allowed. All rules read the columns of the store, the scan results aren't created
+ * again.
+ * <p>
+ * The store and the index are built once when the validator is created, so a validator should be kept for all checks
+ * of the same results, see {@link #withMatchMode(AllowList.MatchMode)}. The validator is immutable and can be shared
+ * between threads.
  */
-@RequiredArgsConstructor
 public class SpelValidator {
-    private final List<SpelScanResult> spelScanResultList;
+    @Getter
+    private final SpelResultStore resultStore;
+
+    /**
+     * Defines how the allowed beans, methods and parameter values are matched.
+     */
+    @Getter
+    private final AllowList.MatchMode matchMode;
+
+    /**
+     * The index of the referenced beans, methods and parameters.
+     */
+    @Getter
+    private final SpelReferenceIndex referenceIndex;
+
+    public SpelValidator(List<SpelScanResult> spelScanResultList) {
+        this(spelScanResultList, AllowList.MatchMode.EXACT);
+    }
+
+    public SpelValidator(List<SpelScanResult> spelScanResultList, AllowList.MatchMode matchMode) {
+        this(SpelResultStore.of(spelScanResultList), matchMode);
+    }
+
+    public SpelValidator(SpelResultStore resultStore, AllowList.MatchMode matchMode) {
+        this(resultStore, matchMode, SpelReferenceIndex.of(resultStore));
+    }
+
+    private SpelValidator(SpelResultStore resultStore, AllowList.MatchMode matchMode, SpelReferenceIndex referenceIndex) {
+        this.resultStore = resultStore;
+        this.matchMode = matchMode;
+        this.referenceIndex = referenceIndex;
+    }
+
+    /**
+     * Creates a validator for the same results with another match mode. The result store and the reference index are
+     * shared, so they are built only once.
+     *
+     * @param matchMode defines how the allowed beans, methods and parameter values are matched
+     * @return this validator if the match mode is the same, otherwise a new validator
+     */
+    public SpelValidator withMatchMode(AllowList.MatchMode matchMode) {
+        if (matchMode == this.matchMode) {
+            return this;
+        }
+        return new SpelValidator(resultStore, matchMode, referenceIndex);
+    }
 
     public boolean allMatchStatus(SpelScanResult.Status expectedStatus) {
-        return spelScanResultList.stream().allMatch(r -> r.getStatus() == expectedStatus);
+        return resultStore.allMatchStatus(expectedStatus);
     }
 
     public boolean anyMatchStatus(SpelScanResult.Status expectedStatus) {
-        return spelScanResultList.stream().anyMatch(r -> r.getStatus() == expectedStatus);
+        return resultStore.anyMatchStatus(expectedStatus);
     }
 
     public ValidationResult usesOnlyBeans(List<String> allowedBeans) {
-        List<ValidationItem> messages = new ArrayList<>();
-        for (SpelScanResult r : spelScanResultList) {
-            switch (r.getStatus()) {
-                case VALID -> {
-                    var er = r.getExpressionResult();
-                    var notAllowed = er.getBeanReferences().stream()
-                            .filter(m -> !allowedBeans.contains(m))
-                            .toList();
-                    if (!notAllowed.isEmpty()) {
-                        String message = "%s%s - '%s'".formatted(
-                                r.getClazz().getSimpleName(),
-                                r.getMethod() != null ? "(" + r.getMethod() + ")" : "",
-                                notAllowed);
-                        messages.add(ValidationItem.of(message));
-                    }
-                }
-                case INVALID -> {
-                    ValidationItem.of(getErrorMessageOfInvalidExpression(r));
-                }
-            }
-        }
-        var resultStatus = ValidationResult.ValidationStatus.OK;
-        var resultMessage = "All beans are valid";
-        if (!messages.isEmpty()) {
-            resultStatus = ValidationResult.ValidationStatus.ERROR;
-            resultMessage = "Bean reference not allowed - (allowed:'%s')".formatted(allowedBeans);
-        }
-
-        return new ValidationResult(resultStatus, resultMessage, messages);
+        var allowList = AllowList.of(allowedBeans, matchMode);
+        return validate(new UsesOnlyBeansRule(allowList), referenceIndex.findIndexesByBeansNotIn(allowList));
     }
 
     public ValidationResult usesOnlyMethods(List<String> allowedMethods) {
-        List<ValidationItem> messages = new ArrayList<>();
-        for (SpelScanResult r : spelScanResultList) {
-            switch (r.getStatus()) {
-                case VALID -> {
-                    var er = r.getExpressionResult();
-                    var notAllowed = er.getMethodReferences().stream()
-                            .map(SpelMethod::getName)
-                            .filter(m -> !allowedMethods.contains(m))
-                            .toList();
-                    if (!notAllowed.isEmpty()) {
-                        String message = "%s%s - '%s'".formatted(
-                                r.getClazz().getSimpleName(),
-                                r.getMethod() != null ? "(" + r.getMethod() + ")" : "",
-                                notAllowed);
-                        messages.add(ValidationItem.of(message));
-                    }
-                }
-                case INVALID -> {
-                    ValidationItem.of(getErrorMessageOfInvalidExpression(r));
-                }
-            }
-        }
-        var resultStatus = ValidationResult.ValidationStatus.OK;
-        var resultMessage = "All methods are valid";
-        if (!messages.isEmpty()) {
-            resultStatus = ValidationResult.ValidationStatus.ERROR;
-            resultMessage = "Method reference not allowed - (allowed:'%s')".formatted(allowedMethods);
-        }
-
-        return new ValidationResult(resultStatus, resultMessage, messages);
+        var allowList = AllowList.of(allowedMethods, matchMode);
+        return validate(new UsesOnlyMethodsRule(allowList), referenceIndex.findIndexesByMethodsNotIn(allowList));
     }
 
     /**
@@ -94,56 +99,60 @@ public class SpelValidator {
      * Fails if any other parameter values are found for that method.
      *
      * @param methodName    the name of the method to check
-     * @param allowedParams list of allowed parameter values (as String)
+     * @param allowedParams list of allowed parameter values (as String), literal parameters are compared without quotes
      * @return this assertion object for method chaining
      */
     public ValidationResult verifyMethodParameter(String methodName, List<String> allowedParams) {
-        List<ValidationItem> messages = new ArrayList<>();
-        for (SpelScanResult r : spelScanResultList) {
-            switch (r.getStatus()) {
-                case VALID -> {
-                    var er = r.getExpressionResult();
-                    er.getMethodReferences().stream()
-                            .filter(mr -> methodName.equals(mr.getName()))
-                            .forEach(mr -> {
-                                for (var param : mr.getParams()) {
-                                    if (!getQuotedValues(allowedParams).contains(param.getValue())) {
-                                        String errorMessage = "%s%s - Method '%s' uses not allowed parameter value '%s'"
-                                                .formatted(r.getClazz().getSimpleName(),
-                                                        r.getMethod() != null ? "(" + r.getMethod() + ")" : "",
-                                                        methodName,
-                                                        param.getValue());
-                                        messages.add(ValidationItem.of(errorMessage));
-                                    }
-                                }
-                            });
-                }
-                case INVALID -> {
-                    ValidationItem.of(getErrorMessageOfInvalidExpression(r));
-                }
+        var allowList = AllowList.of(allowedParams, matchMode);
+        return validate(new MethodParameterRule(methodName, allowList),
+                referenceIndex.findIndexesByMethodParametersNotIn(methodName, allowList));
+    }
+
+    /**
+     * Resolves the bean and method references of all valid expressions against the real types.
+     *
+     * @param semanticValidator the validator knowing the root type and the bean types
+     * @return the validation result listing all references which can't be resolved
+     */
+    public ValidationResult resolvesReferences(SpelSemanticValidator semanticValidator) {
+        var rule = new ResolvesReferencesRule(semanticValidator);
+        List<ValidationItem> violations = new ArrayList<>();
+        for (int i = 0; i < resultStore.size(); i++) {
+            if (resultStore.getStatus(i) == SpelScanResult.Status.VALID) {
+                rule.check(resultStore, i, violations);
             }
         }
-        var resultStatus = ValidationResult.ValidationStatus.OK;
-        var resultMessage = "All method parameters are valid";
-        if (!messages.isEmpty()) {
-            resultStatus = ValidationResult.ValidationStatus.ERROR;
-            resultMessage = "Method '%s' parameter value not allowed - (allowed:'%s')".formatted(methodName, allowedParams);
-        }
+        return rule.createResult(violations);
+    }
+
+    /**
+     * Evaluates all rules of the rule set in a single pass over the scan results.
+     *
+     * @param ruleSet the rules to evaluate
+     * @return one validation result per rule
+     */
+    public List<ValidationResult> validate(SpelRuleSet ruleSet) {
+        return ruleSet.validate(resultStore);
+    }
 
-        return new ValidationResult(resultStatus, resultMessage, messages);
+    /**
+     * Checks the rule only against the expressions of the given indexes, all other expressions can't violate it.
+     */
+    private ValidationResult validate(SpelRule rule, int[] indexes) {
+        List<ValidationItem> violations = new ArrayList<>();
+        for (int index : indexes) {
+            rule.check(resultStore, index, violations);
+        }
+        return rule.createResult(violations);
     }
 
     public static String getErrorMessageOfInvalidExpression(SpelScanResult r) {
-        return "%s%s - Cannot perform check because of an invalid expressions. Please fix them first: %s"
-                .formatted(r.getClazz().getSimpleName(),
-                        r.getMethod() != null ? "(" + r.getMethod() + ")" : "",
-                        r.getErrorMessage());
+        return "%s - Cannot perform check because of an invalid expressions. Please fix them first: %s"
+                .formatted(r.getLocation(), r.getErrorMessage());
     }
 
     public static String getInfoMessageOfValidExpression(SpelScanResult r) {
-        return "%s%s - Expression is valid"
-                .formatted(r.getClazz().getSimpleName(),
-                        r.getMethod() != null ? "(" + r.getMethod() + ")" : "");
+        return "%s - Expression is valid".formatted(r.getLocation());
     }
 
     public List<String> getQuotedValues(List<String> valuesToQuote) {
@@ -0,0 +1,283 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Watches a directory of class files, e.g. {@code target/classes}, and validates the expressions again whenever a
+ * class file changes. Only the changed class files are read again, the results of all other classes are kept in
+ * memory. After each change the rule set is evaluated against all results and the update is passed to the callback.
+ * <p>
+ * The class files are always read as bytecode (see {@link SpelScanner#scanClassFile}), so the recompiled classes
+ * don't have to be loaded. Changes of a compiler run are collected for {@value #DEBOUNCE_MILLIS} ms and handled as one
+ * update. Unchanged expressions of changed classes are taken from the expression cache of the parser if it has one.
+ * <pre>{@code
+ * try (var watcher = new SpelWatcher(scanner, configuration, Path.of("target/classes"), ruleSet, update ->
+ *         update.getValidationResults().forEach(result -> log.info(result.getMessage())))) {
+ *     watcher.start();
+ *     ...
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class SpelWatcher implements AutoCloseable {
+
+    /**
+     * The time to wait for further changes before the changed class files are read.
+     */
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final SpelScanner spelScanner;
+
+    private final SpelConfiguration configuration;
+
+    private final Path classesDirectory;
+
+    private final SpelRuleSet ruleSet;
+
+    private final Consumer<Update> callback;
+
+    /**
+     * The results per class name, ordered by class name as the results of a scan.
+     */
+    private final Map<String, List<SpelScanResult>> resultsByClass = new TreeMap<>();
+
+    private WatchService watchService;
+
+    private Thread thread;
+
+    public SpelWatcher(SpelScanner spelScanner, SpelConfiguration configuration, Path classesDirectory,
+                       SpelRuleSet ruleSet, Consumer<Update> callback) {
+        this.spelScanner = spelScanner;
+        this.configuration = configuration;
+        this.classesDirectory = classesDirectory.toAbsolutePath().normalize();
+        this.ruleSet = ruleSet;
+        this.callback = callback;
+    }
+
+    /**
+     * Scans all class files of the directory and starts watching it in a background thread.
+     *
+     * @return this watcher
+     */
+    public synchronized SpelWatcher start() {
+        if (thread != null) {
+            throw new IllegalStateException("Watcher is already started");
+        }
+        try {
+            watchService = classesDirectory.getFileSystem().newWatchService();
+            register(classesDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Directory '" + classesDirectory + "' couldn't be watched", e);
+        }
+        refreshAll();
+        thread = new Thread(this::watch, "spel-validator-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("[SpELValidator] Watching '{}' for changed class files", classesDirectory);
+        return this;
+    }
+
+    /**
+     * Reads all class files of the directory again and drops the results of classes which no longer exist.
+     *
+     * @return the update which was passed to the callback
+     */
+    public synchronized Update refreshAll() {
+        var classFiles = SpelClassFiles.find(classesDirectory);
+        var removedClasses = new ArrayList<>(resultsByClass.keySet());
+        removedClasses.removeAll(classFiles.stream().map(this::toClassName).toList());
+        List<Path> changed = new ArrayList<>(classFiles);
+        removedClasses.forEach(className -> changed.add(SpelClassFiles.toClassFile(classesDirectory, className)));
+        return refresh(changed);
+    }
+
+    /**
+     * Reads the given class files again. Class files which no longer exist are removed, files outside the directory
+     * and classes outside the configured packages are ignored.
+     *
+     * @param classFiles the changed class files
+     * @return the update which was passed to the callback
+     */
+    public synchronized Update refresh(Collection<Path> classFiles) {
+        var start = System.nanoTime();
+        List<String> changedClasses = new ArrayList<>();
+        for (var classFile : classFiles) {
+            var path = classesDirectory.resolve(classFile).normalize();
+            if (!path.startsWith(classesDirectory) || !path.toString().endsWith(SpelClassFiles.CLASS_FILE_SUFFIX)) {
+                continue;
+            }
+            var className = toClassName(path);
+            if (!SpelClassFiles.isScanned(configuration, className)) {
+                continue;
+            }
+            // a class file which is still being written is reported as invalid, the next change reads it again
+            var results = Files.isRegularFile(path)
+                    ? spelScanner.scanClassFile(configuration, className, new FileSystemResource(path))
+                    : List.<SpelScanResult>of();
+            var previous = results.isEmpty() ? resultsByClass.remove(className) : resultsByClass.put(className, results);
+            if (!results.isEmpty() || previous != null) {
+                changedClasses.add(className);
+            }
+        }
+        var results = getResults();
+        var update = new Update(List.copyOf(changedClasses), results, ruleSet.validate(results),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.debug("[SpELValidator] {} changed classes validated in {} ms", changedClasses.size(), update.getDuration().toMillis());
+        callback.accept(update);
+        return update;
+    }
+
+    /**
+     * @return the current results of all classes ordered by class name and method name
+     */
+    public synchronized List<SpelScanResult> getResults() {
+        List<SpelScanResult> results = new ArrayList<>();
+        resultsByClass.values().forEach(results::addAll);
+        return configuration.isDeduplicate() ? SpelExpressionDeduplicator.deduplicate(results) : List.copyOf(results);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread watchThread;
+        synchronized (this) {
+            watchThread = thread;
+            thread = null;
+            if (watchService != null) {
+                watchService.close();
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new LinkedHashSet<>();
+                var overflow = collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changed);
+                }
+                try {
+                    if (overflow) {
+                        refreshAll();
+                    } else {
+                        refresh(changed);
+                    }
+                } catch (RuntimeException e) {
+                    // a failing callback must not stop the watcher, the next change is validated again
+                    log.error("[SpELValidator] Changes of '{}' couldn't be validated: {}", classesDirectory, e.getMessage(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        }
+        log.debug("[SpELValidator] Stopped watching '{}'", classesDirectory);
+    }
+
+    /**
+     * Collects the changed class files of a watch key. New directories, e.g. of a new package, are registered and
+     * their class files are collected as changed.
+     *
+     * @return true if events were lost
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        var overflow = false;
+        var directory = (Path) key.watchable();
+        for (var event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            var path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                    changed.addAll(SpelClassFiles.find(path));
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("[SpELValidator] Directory '{}' couldn't be watched: {}", path, e.getMessage());
+                }
+            } else {
+                changed.add(path);
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    private void register(Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (var directory : directories.filter(Files::isDirectory).toList()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private String toClassName(Path classFile) {
+        return SpelClassFiles.toClassName(classesDirectory, classFile);
+    }
+
+    /**
+     * The result of the validation after a change.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Update {
+
+        /**
+         * The classes whose results were added, changed or removed.
+         */
+        private final List<String> changedClasses;
+
+        /**
+         * The results of all classes ordered by class name and method name.
+         */
+        private final List<SpelScanResult> results;
+
+        /**
+         * One validation result per rule in the order the rules were registered.
+         */
+        private final List<ValidationResult> validationResults;
+
+        /**
+         * The time to read the changed classes and to evaluate the rules.
+         */
+        private final Duration duration;
+
+        public boolean isValid() {
+            return validationResults.stream().allMatch(result -> result.getStatus() == ValidationResult.ValidationStatus.OK);
+        }
+    }
+}
@@ -4,12 +4,15 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
 import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * This class holds information about an annotation that contains a Spring Expression Language (SpEL) expression.
  * <p>
  * The annotation is scanned on both method and class level, and the contained expression is validated.
- * The field {@code attributeName} specifies the attribute of the annotation where the expression is located.
+ * The field {@code attributeNames} specifies the attributes of the annotation where the expressions are located,
+ * {@code value} by default.
  * <p>
  * The class provides methods to check if the given class name is an annotation and to load the annotation class.
  */
@@ -17,12 +20,48 @@ import java.lang.annotation.Annotation;
 @RequiredArgsConstructor
 public class AnnotationToScan {
     private final String className;
-    private String attributeName = "value";
+    private List<String> attributeNames = List.of("value");
 
     public static AnnotationToScan of(Class<? extends Annotation> annotation) {
         return new AnnotationToScan(annotation.getName());
     }
 
+    /**
+     * Creates the annotation to scan.
+     *
+     * @param annotation     the annotation class
+     * @param attributeNames the attributes containing SpEL expressions
+     * @return the annotation to scan
+     */
+    public static AnnotationToScan of(Class<? extends Annotation> annotation, String... attributeNames) {
+        var annotationToScan = of(annotation);
+        annotationToScan.setAttributeNames(List.of(attributeNames));
+        return annotationToScan;
+    }
+
+    /**
+     * @return the first attribute containing a SpEL expression
+     */
+    public String getAttributeName() {
+        return attributeNames.get(0);
+    }
+
+    /**
+     * Scans only the given attribute of the annotation.
+     *
+     * @param attributeName the attribute containing the SpEL expression
+     */
+    public void setAttributeName(String attributeName) {
+        this.attributeNames = List.of(attributeName);
+    }
+
+    public void setAttributeNames(List<String> attributeNames) {
+        if (attributeNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one attribute name is required");
+        }
+        this.attributeNames = List.copyOf(attributeNames);
+    }
+
     /**
      * Checks if the class name refers to an annotation type.
      *
@@ -49,4 +88,25 @@ public class AnnotationToScan {
     public Class<? extends Annotation> getAnnotationClass() throws ClassNotFoundException {
         return Class.forName(className).asSubclass(Annotation.class);
     }
+
+    /**
+     * Loads the annotation class with the given class loader.
+     *
+     * @param classLoader the class loader to load the annotation class
+     * @return the resolved annotation or empty if the class can't be loaded or isn't an annotation
+     */
+    public Optional<ResolvedAnnotation> resolve(ClassLoader classLoader) {
+        if (className == null || className.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            if (!clazz.isAnnotation()) {
+                return Optional.empty();
+            }
+            return Optional.of(new ResolvedAnnotation(clazz.asSubclass(Annotation.class), attributeNames));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
 }
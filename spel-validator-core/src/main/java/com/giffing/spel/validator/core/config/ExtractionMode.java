@@ -0,0 +1,28 @@
+package com.giffing.spel.validator.core.config;
+
+/**
+ * Defines how the SpEL expressions are extracted from the candidate classes.
+ */
+public enum ExtractionMode {
+
+    /**
+     * The candidate classes are loaded and the annotations are read via reflection including the type hierarchy
+     * (superclasses and interfaces).
+     */
+    REFLECTION,
+
+    /**
+     * The annotations are read from the class files of the candidates. The scanned classes are never loaded, so no
+     * static initializers are triggered. Only the annotations declared on the class and its methods are considered,
+     * inherited annotations of the type hierarchy are not resolved.
+     */
+    BYTECODE,
+
+    /**
+     * The expressions are read from the index resources generated at compile time by the annotation processor of the
+     * module {@code spel-validator-processor}. Neither the classpath is scanned nor are the classes loaded, so this mode
+     * also works in shaded jars and native images. Like {@link #BYTECODE} only the annotations declared on the class
+     * and its methods are considered. The executor and the scan cache are not used.
+     */
+    INDEX
+}
@@ -0,0 +1,87 @@
+package com.giffing.spel.validator.core.config;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Matches package names against the configured packages. A package matches if it is the configured package or one of
+ * its sub packages. The configured packages may contain Ant-style wildcards, e.g. {@code com.acme.*.api}.
+ */
+public class PackageMatcher {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher(".");
+
+    /**
+     * Orders the most specific package first: more segments are more specific, {@code **} doesn't count as a segment,
+     * and a package without wildcards is more specific than a pattern with the same number of segments.
+     */
+    public static final Comparator<String> MOST_SPECIFIC_FIRST = Comparator
+            .comparingInt(PackageMatcher::countSegments).reversed()
+            .thenComparing(MATCHER::isPattern);
+
+    private PackageMatcher() {
+    }
+
+    /**
+     * @param packageName       the package name to check
+     * @param configuredPackage the configured package, the empty string stands for all packages
+     * @return true if the package is the configured package or one of its sub packages
+     */
+    public static boolean isWithin(String packageName, String configuredPackage) {
+        if (configuredPackage.isEmpty()) {
+            return true;
+        }
+        if (!MATCHER.isPattern(configuredPackage)) {
+            return packageName.equals(configuredPackage) || packageName.startsWith(configuredPackage + ".");
+        }
+        return MATCHER.match(configuredPackage + ".**", packageName);
+    }
+
+    public static boolean isWithinAny(String packageName, List<String> configuredPackages) {
+        for (var configuredPackage : configuredPackages) {
+            if (isWithin(packageName, configuredPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the packages which are within another of the packages, so each package is traversed only once.
+     *
+     * @param packages the distinct packages
+     * @return the remaining packages in the given order
+     */
+    public static List<String> roots(List<String> packages) {
+        List<String> roots = new ArrayList<>();
+        for (int i = 0; i < packages.size(); i++) {
+            var candidate = packages.get(i);
+            var nested = false;
+            for (int j = 0; j < packages.size() && !nested; j++) {
+                var other = packages.get(j);
+                // patterns which match each other keep the first one
+                nested = i != j && isWithin(candidate, other) && (j < i || !isWithin(other, candidate));
+            }
+            if (!nested) {
+                roots.add(candidate);
+            }
+        }
+        return List.copyOf(roots);
+    }
+
+    private static int countSegments(String configuredPackage) {
+        if (configuredPackage.isEmpty()) {
+            return 0;
+        }
+        int segments = 0;
+        for (var segment : configuredPackage.split("\\.")) {
+            if (!segment.equals("**")) {
+                segments++;
+            }
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,30 @@
+package com.giffing.spel.validator.core.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * An {@link AnnotationToScan} whose annotation class has been loaded.
+ * <p>
+ * The annotations are resolved once per {@link SpelConfiguration} and shared by the locator and the scanner.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ResolvedAnnotation {
+    private final Class<? extends Annotation> type;
+    private final List<String> attributeNames;
+
+    /**
+     * @return the first attribute containing a SpEL expression
+     */
+    public String getAttributeName() {
+        return attributeNames.get(0);
+    }
+
+    public String getClassName() {
+        return type.getName();
+    }
+}
@@ -1,10 +1,22 @@
 package com.giffing.spel.validator.core.config;
 
+import com.giffing.spel.validator.core.listener.ScanListener;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration class for SpEL expression validation.
@@ -14,13 +26,28 @@ import java.util.List;
  */
 @Getter
 @Builder
+@Slf4j
 public class SpelConfiguration {
     /**
-     * The base package to scan for annotated classes and methods.
+     * The base package to scan for annotated classes and methods. Further packages can be added with
+     * {@link #includePackages}.
      */
-    @NonNull
     private String basePackage;
 
+    /**
+     * Further packages to scan in the same scan. All packages are traversed in a single pass over the classpath, packages
+     * within another configured package are not traversed twice. Ant-style wildcards are supported, e.g.
+     * {@code com.acme.*.api}.
+     */
+    @lombok.Singular
+    private List<String> includePackages;
+
+    /**
+     * Packages whose classes are not scanned, e.g. {@code com.acme.billing.legacy}. Ant-style wildcards are supported.
+     */
+    @lombok.Singular
+    private List<String> excludePackages;
+
     /**
      * The list of annotations to scan for SpEL expressions.
      * <p>
@@ -30,5 +57,125 @@ public class SpelConfiguration {
     @lombok.Singular
     private List<AnnotationToScan> annotations;
 
+    /**
+     * Optional executor used to scan the candidate classes in parallel (e.g. {@code ForkJoinPool.commonPool()}).
+     * <p>
+     * If no executor is configured the candidate classes are scanned sequentially in the calling thread.
+     */
+    private Executor executor;
+
+    /**
+     * Defines how the expressions are extracted from the candidate classes. Defaults to {@link ExtractionMode#REFLECTION}.
+     */
+    @NonNull
+    @Builder.Default
+    private ExtractionMode extractionMode = ExtractionMode.REFLECTION;
+
+    /**
+     * Optional directory of the persistent scan cache (e.g. {@code target/spel-validator-cache}).
+     * <p>
+     * If configured, the extracted expressions and their parse results are stored per class. Subsequent scans only
+     * process the classes whose class file, supertypes or annotation types have changed since the last scan.
+     */
+    private Path cacheDirectory;
+
+    /**
+     * The class loader used to find the classes and to load the annotations. Defaults to the thread context class loader.
+     */
+    @NonNull
+    @Builder.Default
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    /**
+     * Merges the results of identical expressions into one result per unique expression which lists all sites, see
+     * {@link com.giffing.spel.validator.core.result.SpelScanResult#getSites()}. Each unique expression is parsed only
+     * once and violations are reported once per expression.
+     */
+    private boolean deduplicate;
+
+    /**
+     * Listeners notified about the progress of the scan, e.g. to collect metrics. They must be thread safe if an
+     * executor is configured.
+     */
+    @lombok.Singular
+    private List<ScanListener> listeners;
+
+    /**
+     * The configured listeners combined into a single listener.
+     */
+    @Getter(lazy = true)
+    private final ScanListener scanListener = ScanListener.of(listeners);
+
+    /**
+     * The configured annotations whose classes could be loaded. They are resolved once on first access, annotations
+     * which can't be loaded are reported once and skipped.
+     */
+    @Getter(lazy = true)
+    private final List<ResolvedAnnotation> resolvedAnnotations = resolveAnnotations();
+
+    /**
+     * The configured packages without duplicates in the order of the configuration, {@link #basePackage} first.
+     */
+    @Getter(lazy = true)
+    private final List<String> packages = collectPackages();
+
+    /**
+     * The packages which are traversed: all configured packages which are not within another configured package.
+     */
+    @Getter(lazy = true)
+    private final List<String> rootPackages = PackageMatcher.roots(getPackages());
+
+    private List<String> collectPackages() {
+        Set<String> collected = new LinkedHashSet<>();
+        if (basePackage != null) {
+            collected.add(basePackage);
+        }
+        collected.addAll(includePackages);
+        if (collected.isEmpty()) {
+            throw new IllegalStateException("No base package configured");
+        }
+        return List.copyOf(collected);
+    }
+
+    /**
+     * @param className the name of a class
+     * @return true if the class is within one of the configured packages and not within an excluded package
+     */
+    public boolean isIncluded(String className) {
+        var packageName = ClassUtils.getPackageName(className);
+        return PackageMatcher.isWithinAny(packageName, getRootPackages())
+                && !PackageMatcher.isWithinAny(packageName, excludePackages);
+    }
+
+    private List<ResolvedAnnotation> resolveAnnotations() {
+        List<ResolvedAnnotation> resolved = new ArrayList<>();
+        for (var annotation : annotations) {
+            annotation.resolve(classLoader).ifPresentOrElse(resolved::add,
+                    () -> log.warn("[SpELValidator] Configured annotation can't be loaded or is not an annotation: {}", annotation.getClassName()));
+        }
+        return List.copyOf(resolved);
+    }
+
+    /**
+     * Creates a fingerprint of all settings which have an influence on the scan result. It is used to invalidate the
+     * scan cache if the configuration changes.
+     *
+     * @return the fingerprint as hex string
+     */
+    public String getFingerprint() {
+        var builder = new StringBuilder()
+                .append(String.join(",", getPackages())).append('|')
+                .append(String.join(",", excludePackages)).append('|')
+                .append(extractionMode).append('|');
+        annotations.forEach(annotation -> builder
+                .append(annotation.getClassName()).append('#')
+                .append(String.join(",", annotation.getAttributeNames())).append(';'));
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
 }
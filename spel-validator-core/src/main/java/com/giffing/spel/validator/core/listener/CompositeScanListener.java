@@ -0,0 +1,46 @@
+package com.giffing.spel.validator.core.listener;
+
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Passes each event to all listeners in order.
+ */
+@RequiredArgsConstructor
+class CompositeScanListener implements ScanListener {
+
+    private final List<ScanListener> listeners;
+
+    @Override
+    public void candidatesFound(String basePackage, int candidates, Duration duration) {
+        listeners.forEach(listener -> listener.candidatesFound(basePackage, candidates, duration));
+    }
+
+    @Override
+    public void classScanned(String className, List<SpelScanResult> results, Duration duration) {
+        listeners.forEach(listener -> listener.classScanned(className, results, duration));
+    }
+
+    @Override
+    public void classTakenFromCache(String className, List<SpelScanResult> results) {
+        listeners.forEach(listener -> listener.classTakenFromCache(className, results));
+    }
+
+    @Override
+    public void expressionParsed(String expression, int astNodes, Duration duration) {
+        listeners.forEach(listener -> listener.expressionParsed(expression, astNodes, duration));
+    }
+
+    @Override
+    public void expressionTakenFromCache(String expression) {
+        listeners.forEach(listener -> listener.expressionTakenFromCache(expression));
+    }
+
+    @Override
+    public void scanFinished(int expressions, Duration duration) {
+        listeners.forEach(listener -> listener.scanFinished(expressions, duration));
+    }
+}
@@ -0,0 +1,92 @@
+package com.giffing.spel.validator.core.listener;
+
+import com.giffing.spel.validator.core.result.SpelScanResult;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Receives the events of a scan, e.g. to collect statistics or metrics. Listeners are registered in the
+ * {@link com.giffing.spel.validator.core.config.SpelConfiguration}.
+ * <p>
+ * All methods have an empty default implementation. The classes are scanned in parallel if an executor is
+ * configured, so implementations must be thread safe.
+ */
+public interface ScanListener {
+
+    /**
+     * A listener which ignores all events.
+     */
+    ScanListener NONE = new ScanListener() {
+    };
+
+    /**
+     * The candidate classes of the base package were found.
+     *
+     * @param basePackage the scanned package
+     * @param candidates  the number of classes which carry one of the configured annotations
+     * @param duration    the time to read the class files of the package
+     */
+    default void candidatesFound(String basePackage, int candidates, Duration duration) {
+    }
+
+    /**
+     * The expressions of a class were extracted and parsed.
+     *
+     * @param className the name of the class
+     * @param results   the scan results of the class
+     * @param duration  the time to extract and parse the expressions
+     */
+    default void classScanned(String className, List<SpelScanResult> results, Duration duration) {
+    }
+
+    /**
+     * The class didn't change since the last scan, its results were taken from the scan cache.
+     *
+     * @param className the name of the class
+     * @param results   the cached scan results of the class
+     */
+    default void classTakenFromCache(String className, List<SpelScanResult> results) {
+    }
+
+    /**
+     * An expression was parsed.
+     *
+     * @param expression the SpEL expression
+     * @param astNodes   the number of nodes of the abstract syntax tree
+     * @param duration   the time to parse the expression and to collect its references
+     */
+    default void expressionParsed(String expression, int astNodes, Duration duration) {
+    }
+
+    /**
+     * The expression was parsed before, the result was taken from the expression cache.
+     *
+     * @param expression the SpEL expression
+     */
+    default void expressionTakenFromCache(String expression) {
+    }
+
+    /**
+     * The scan is finished.
+     *
+     * @param expressions the number of scan results
+     * @param duration    the total time of the scan
+     */
+    default void scanFinished(int expressions, Duration duration) {
+    }
+
+    /**
+     * Combines the listeners into one listener which passes each event to all listeners in order.
+     *
+     * @param listeners the listeners
+     * @return the combined listener
+     */
+    static ScanListener of(List<ScanListener> listeners) {
+        return switch (listeners.size()) {
+            case 0 -> NONE;
+            case 1 -> listeners.get(0);
+            default -> new CompositeScanListener(List.copyOf(listeners));
+        };
+    }
+}
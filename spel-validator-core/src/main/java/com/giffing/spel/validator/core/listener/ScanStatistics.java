@@ -0,0 +1,183 @@
+package com.giffing.spel.validator.core.listener;
+
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the statistics of one or more scans and creates a summary, e.g. to find the packages which take most of
+ * the scan time.
+ */
+public class ScanStatistics implements ScanListener {
+
+    private static final int TOP_ENTRIES = 5;
+
+    private final LongAdder candidates = new LongAdder();
+
+    private final LongAdder discoveryNanos = new LongAdder();
+
+    private final LongAdder scannedClasses = new LongAdder();
+
+    private final LongAdder cachedClasses = new LongAdder();
+
+    private final LongAdder classNanos = new LongAdder();
+
+    private final LongAdder parsedExpressions = new LongAdder();
+
+    private final LongAdder cachedExpressions = new LongAdder();
+
+    private final LongAdder parseNanos = new LongAdder();
+
+    private final LongAdder astNodes = new LongAdder();
+
+    private final LongAdder expressions = new LongAdder();
+
+    private final AtomicLong scanNanos = new AtomicLong();
+
+    private final Map<String, Long> nanosByClass = new ConcurrentHashMap<>();
+
+    @Override
+    public void candidatesFound(String basePackage, int candidates, Duration duration) {
+        this.candidates.add(candidates);
+        discoveryNanos.add(duration.toNanos());
+    }
+
+    @Override
+    public void classScanned(String className, List<SpelScanResult> results, Duration duration) {
+        scannedClasses.increment();
+        classNanos.add(duration.toNanos());
+        nanosByClass.merge(className, duration.toNanos(), Long::sum);
+    }
+
+    @Override
+    public void classTakenFromCache(String className, List<SpelScanResult> results) {
+        cachedClasses.increment();
+    }
+
+    @Override
+    public void expressionParsed(String expression, int astNodes, Duration duration) {
+        parsedExpressions.increment();
+        parseNanos.add(duration.toNanos());
+        this.astNodes.add(astNodes);
+    }
+
+    @Override
+    public void expressionTakenFromCache(String expression) {
+        cachedExpressions.increment();
+    }
+
+    @Override
+    public void scanFinished(int expressions, Duration duration) {
+        this.expressions.add(expressions);
+        scanNanos.addAndGet(duration.toNanos());
+    }
+
+    public long getCandidates() {
+        return candidates.sum();
+    }
+
+    public Duration getDiscoveryTime() {
+        return Duration.ofNanos(discoveryNanos.sum());
+    }
+
+    public long getScannedClasses() {
+        return scannedClasses.sum();
+    }
+
+    public long getCachedClasses() {
+        return cachedClasses.sum();
+    }
+
+    /**
+     * @return the sum of the scan times of all classes, it exceeds the scan time if the classes are scanned in parallel
+     */
+    public Duration getClassScanTime() {
+        return Duration.ofNanos(classNanos.sum());
+    }
+
+    public long getParsedExpressions() {
+        return parsedExpressions.sum();
+    }
+
+    public long getCachedExpressions() {
+        return cachedExpressions.sum();
+    }
+
+    public Duration getParseTime() {
+        return Duration.ofNanos(parseNanos.sum());
+    }
+
+    public long getAstNodes() {
+        return astNodes.sum();
+    }
+
+    public long getExpressions() {
+        return expressions.sum();
+    }
+
+    public Duration getScanTime() {
+        return Duration.ofNanos(scanNanos.get());
+    }
+
+    /**
+     * @return the packages with the highest total scan time of their classes, the slowest first
+     */
+    public Map<String, Duration> getSlowestPackages() {
+        var nanosByPackage = nanosByClass.entrySet()
+                .stream()
+                .collect(Collectors.groupingBy(entry -> ClassUtils.getPackageName(entry.getKey()),
+                        Collectors.summingLong(Map.Entry::getValue)));
+        return top(nanosByPackage);
+    }
+
+    /**
+     * @return the classes with the highest scan time, the slowest first
+     */
+    public Map<String, Duration> getSlowestClasses() {
+        return top(nanosByClass);
+    }
+
+    public String getSummary() {
+        return """
+                [SpELValidator] Scan summary
+                  Candidates:  %d found in %d ms
+                  Classes:     %d scanned in %d ms, %d taken from scan cache
+                  Expressions: %d, %d parsed in %d ms (%d AST nodes), %d taken from expression cache
+                  Total:       %d ms
+                  Slowest packages: %s
+                  Slowest classes:  %s""".formatted(
+                getCandidates(), getDiscoveryTime().toMillis(),
+                getScannedClasses(), getClassScanTime().toMillis(), getCachedClasses(),
+                getExpressions(), getParsedExpressions(), getParseTime().toMillis(), getAstNodes(), getCachedExpressions(),
+                getScanTime().toMillis(),
+                format(getSlowestPackages()),
+                format(getSlowestClasses()));
+    }
+
+    private static Map<String, Duration> top(Map<String, Long> nanos) {
+        return nanos.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_ENTRIES)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Duration.ofNanos(entry.getValue()),
+                        (a, b) -> a, java.util.LinkedHashMap::new));
+    }
+
+    private static String format(Map<String, Duration> durations) {
+        if (durations.isEmpty()) {
+            return "-";
+        }
+        return durations.entrySet()
+                .stream()
+                .map(entry -> "%s (%d ms)".formatted(entry.getKey(), entry.getValue().toMillis()))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -2,6 +2,7 @@ package com.giffing.spel.validator.core.result;
 
 import lombok.Data;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -13,7 +14,7 @@ import java.util.Set;
  * Method references are represented by {@link SpelMethod}, which includes the method name and its parameters.
  */
 @Data
-public class ExpressionResult {
+public class ExpressionResult implements Serializable {
     private Set<String> beanReferences = new HashSet<>();
     /**
      * Set of method references to found in the SpEL expression. Each reference includes the method name and its parameters.
@@ -41,4 +42,16 @@ public class ExpressionResult {
         this.methodReferences.add(method);
         return this;
     }
+
+    /**
+     * Creates a copy of this result whose sets can't be modified.
+     *
+     * @return the unmodifiable copy
+     */
+    public ExpressionResult toUnmodifiable() {
+        var result = new ExpressionResult();
+        result.setBeanReferences(Set.copyOf(beanReferences));
+        result.setMethodReferences(Set.copyOf(methodReferences));
+        return result;
+    }
 }
@@ -1,13 +1,14 @@
 package com.giffing.spel.validator.core.result;
 
 import lombok.Data;
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Represents a method reference found in a SpEL expression, including its name and parameters.
  */
 @Data
-public class SpelMethod {
+public class SpelMethod implements Serializable {
     private final String name;
     private final List<SpelMethodParam> params;
 }
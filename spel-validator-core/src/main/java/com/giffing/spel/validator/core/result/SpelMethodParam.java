@@ -1,8 +1,44 @@
 package com.giffing.spel.validator.core.result;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.io.Serializable;
+
 @Data
-public class SpelMethodParam {
+@AllArgsConstructor
+public class SpelMethodParam implements Serializable {
+    /**
+     * The parameter as written in the expression, e.g. {@code 'ROLE_ADMIN'} or {@code #id}.
+     */
     private final String value;
+
+    /**
+     * The typed value if the parameter is a literal (e.g. {@code ROLE_ADMIN} as String or {@code 1} as Integer),
+     * otherwise null.
+     */
+    private final Object literal;
+
+    /**
+     * Creates a parameter from its expression. The literal value is only derived for string literals.
+     *
+     * @param value the parameter as written in the expression
+     */
+    public SpelMethodParam(String value) {
+        this(value, toStringLiteral(value));
+    }
+
+    /**
+     * @return the literal value as string if the parameter is a literal, otherwise the parameter as written in the expression
+     */
+    public String getPlainValue() {
+        return literal != null ? String.valueOf(literal) : value;
+    }
+
+    private static String toStringLiteral(String value) {
+        if (value != null && value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        return null;
+    }
 }
@@ -0,0 +1,344 @@
+package com.giffing.spel.validator.core.result;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact, column oriented storage of scan results.
+ * <p>
+ * All strings (class names, method names, expressions, bean names) are interned into a dictionary and each
+ * distinct method reference (name and parameters) is stored once. A scan result is a row of int ids and its bean and
+ * method references are ranges of int arrays. Large scans with many repeated expressions need a fraction of the
+ * memory of a list of {@link SpelScanResult}s and the rules iterate over primitive arrays.
+ * <p>
+ * The {@link Class} of a result isn't stored. The store is not thread safe while results are added.
+ */
+public class SpelResultStore {
+
+    private static final int NONE = -1;
+
+    private static final SpelScanResult.Status[] STATUS = SpelScanResult.Status.values();
+
+    private final Dictionary<String> strings = new Dictionary<>();
+
+    private final Dictionary<SpelMethod> methods = new Dictionary<>();
+
+    private int size;
+
+    private byte[] statuses = new byte[16];
+
+    private int[] classNames = new int[16];
+
+    private int[] methodNames = new int[16];
+
+    private int[] expressions = new int[16];
+
+    private int[] errorMessages = new int[16];
+
+    /**
+     * Results without an {@link ExpressionResult}, e.g. invalid expressions.
+     */
+    private final BitSet withoutReferences = new BitSet();
+
+    /**
+     * The bean references of result {@code i} are {@code beanIds[beanOffsets[i]..beanOffsets[i + 1]]}.
+     */
+    private int[] beanOffsets = new int[17];
+
+    private int[] beanIds = new int[16];
+
+    /**
+     * The method references of result {@code i} are {@code methodIds[methodOffsets[i]..methodOffsets[i + 1]]}.
+     */
+    private int[] methodOffsets = new int[17];
+
+    private int[] methodIds = new int[16];
+
+    /**
+     * The further sites of deduplicated result {@code i} are the class and method ids
+     * {@code siteIds[2 * siteOffsets[i]..2 * siteOffsets[i + 1]]}, the first site is the class and method of the result.
+     */
+    private int[] siteOffsets = new int[17];
+
+    private int[] siteIds = new int[0];
+
+    public static SpelResultStore of(Iterable<SpelScanResult> results) {
+        var store = new SpelResultStore();
+        results.forEach(store::add);
+        return store;
+    }
+
+    /**
+     * Adds a scan result.
+     *
+     * @param result the scan result
+     * @return the index of the result
+     */
+    public int add(SpelScanResult result) {
+        ensureRowCapacity(size + 1);
+        var index = size;
+        statuses[index] = (byte) result.getStatus().ordinal();
+        classNames[index] = strings.idOf(result.getClassName());
+        methodNames[index] = strings.idOf(result.getMethod());
+        expressions[index] = strings.idOf(result.getExpression());
+        errorMessages[index] = strings.idOf(result.getErrorMessage());
+        var expressionResult = result.getExpressionResult();
+        var beanEnd = beanOffsets[index];
+        var methodEnd = methodOffsets[index];
+        if (expressionResult == null) {
+            withoutReferences.set(index);
+        } else {
+            for (var bean : expressionResult.getBeanReferences()) {
+                beanIds = ensureCapacity(beanIds, beanEnd + 1);
+                beanIds[beanEnd++] = strings.idOf(bean);
+            }
+            for (var method : expressionResult.getMethodReferences()) {
+                methodIds = ensureCapacity(methodIds, methodEnd + 1);
+                methodIds[methodEnd++] = methods.idOf(intern(method));
+            }
+        }
+        beanOffsets[index + 1] = beanEnd;
+        methodOffsets[index + 1] = methodEnd;
+        var siteEnd = siteOffsets[index];
+        var sites = result.getSites();
+        for (int i = 1; i < sites.size(); i++) {
+            siteIds = ensureCapacity(siteIds, 2 * siteEnd + 2);
+            siteIds[2 * siteEnd] = strings.idOf(sites.get(i).className());
+            siteIds[2 * siteEnd + 1] = strings.idOf(sites.get(i).method());
+            siteEnd++;
+        }
+        siteOffsets[index + 1] = siteEnd;
+        size++;
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SpelScanResult.Status getStatus(int index) {
+        return STATUS[statuses[checkIndex(index)]];
+    }
+
+    public String getClassName(int index) {
+        return strings.get(classNames[checkIndex(index)]);
+    }
+
+    public String getMethod(int index) {
+        return strings.get(methodNames[checkIndex(index)]);
+    }
+
+    public String getExpression(int index) {
+        return strings.get(expressions[checkIndex(index)]);
+    }
+
+    public String getErrorMessage(int index) {
+        return strings.get(errorMessages[checkIndex(index)]);
+    }
+
+    /**
+     * Creates the location for messages without creating the scan result.
+     *
+     * @return the locations of all sites of the result, see {@link SpelScanResult#getLocation()}
+     */
+    public String getLocation(int index) {
+        checkIndex(index);
+        var location = new StringBuilder(new SpelScanResult.Site(getClassName(index), getMethod(index)).getLocation());
+        for (int i = siteOffsets[index]; i < siteOffsets[index + 1]; i++) {
+            location.append(", ")
+                    .append(new SpelScanResult.Site(strings.get(siteIds[2 * i]), strings.get(siteIds[2 * i + 1])).getLocation());
+        }
+        return location.toString();
+    }
+
+    /**
+     * @return true if all results have the given status
+     */
+    public boolean allMatchStatus(SpelScanResult.Status status) {
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] != status.ordinal()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if at least one result has the given status
+     */
+    public boolean anyMatchStatus(SpelScanResult.Status status) {
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == status.ordinal()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the ids of the beans referenced by the result, see {@link #getString(int)}
+     */
+    public int[] getBeanIds(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(beanIds, beanOffsets[index], beanOffsets[index + 1]);
+    }
+
+    /**
+     * @return the ids of the methods referenced by the result, see {@link #getMethodReference(int)}
+     */
+    public int[] getMethodIds(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(methodIds, methodOffsets[index], methodOffsets[index + 1]);
+    }
+
+    /**
+     * @param id the id of an interned string, e.g. a bean name
+     * @return the string
+     */
+    public String getString(int id) {
+        return strings.get(id);
+    }
+
+    /**
+     * @param id the id of a method reference
+     * @return the method reference
+     */
+    public SpelMethod getMethodReference(int id) {
+        return methods.get(id);
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    public int getStringCount() {
+        return strings.size();
+    }
+
+    /**
+     * @return the number of distinct method references
+     */
+    public int getMethodReferenceCount() {
+        return methods.size();
+    }
+
+    /**
+     * Creates the scan result of the given index. The interned strings and method references are shared.
+     *
+     * @param index the index of the result
+     * @return the scan result without {@link SpelScanResult#getClazz() class}
+     */
+    public SpelScanResult get(int index) {
+        checkIndex(index);
+        ExpressionResult expressionResult = null;
+        if (!withoutReferences.get(index)) {
+            Set<String> beans = new HashSet<>();
+            for (int i = beanOffsets[index]; i < beanOffsets[index + 1]; i++) {
+                beans.add(strings.get(beanIds[i]));
+            }
+            Set<SpelMethod> methodReferences = new HashSet<>();
+            for (int i = methodOffsets[index]; i < methodOffsets[index + 1]; i++) {
+                methodReferences.add(methods.get(methodIds[i]));
+            }
+            expressionResult = new ExpressionResult();
+            expressionResult.setBeanReferences(beans);
+            expressionResult.setMethodReferences(methodReferences);
+        }
+        List<SpelScanResult.Site> sites = new ArrayList<>(1 + siteOffsets[index + 1] - siteOffsets[index]);
+        sites.add(new SpelScanResult.Site(getClassName(index), getMethod(index)));
+        for (int i = siteOffsets[index]; i < siteOffsets[index + 1]; i++) {
+            sites.add(new SpelScanResult.Site(strings.get(siteIds[2 * i]), strings.get(siteIds[2 * i + 1])));
+        }
+        return new SpelScanResult(getStatus(index), null, getClassName(index), getMethod(index), getExpression(index),
+                getErrorMessage(index), expressionResult, sites);
+    }
+
+    /**
+     * @return an unmodifiable view of the results, each result is created on access
+     */
+    public List<SpelScanResult> asList() {
+        return new AbstractList<>() {
+            @Override
+            public SpelScanResult get(int index) {
+                return SpelResultStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private SpelMethod intern(SpelMethod method) {
+        List<SpelMethodParam> params = new ArrayList<>(method.getParams().size());
+        for (var param : method.getParams()) {
+            params.add(new SpelMethodParam(strings.intern(param.getValue()), param.getLiteral() instanceof String literal
+                    ? strings.intern(literal)
+                    : param.getLiteral()));
+        }
+        return new SpelMethod(strings.intern(method.getName()), List.copyOf(params));
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if (capacity <= classNames.length) {
+            return;
+        }
+        var newCapacity = Math.max(capacity, classNames.length * 2);
+        statuses = Arrays.copyOf(statuses, newCapacity);
+        classNames = Arrays.copyOf(classNames, newCapacity);
+        methodNames = Arrays.copyOf(methodNames, newCapacity);
+        expressions = Arrays.copyOf(expressions, newCapacity);
+        errorMessages = Arrays.copyOf(errorMessages, newCapacity);
+        beanOffsets = Arrays.copyOf(beanOffsets, newCapacity + 1);
+        methodOffsets = Arrays.copyOf(methodOffsets, newCapacity + 1);
+        siteOffsets = Arrays.copyOf(siteOffsets, newCapacity + 1);
+    }
+
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+
+    /**
+     * Assigns a dense id to each distinct value. Null has the id {@value #NONE}.
+     */
+    private static class Dictionary<T> {
+
+        private final Map<T, Integer> ids = new HashMap<>();
+
+        private final List<T> values = new ArrayList<>();
+
+        int idOf(T value) {
+            if (value == null) {
+                return NONE;
+            }
+            return ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        T intern(T value) {
+            return value == null ? null : values.get(idOf(value));
+        }
+
+        T get(int id) {
+            return id == NONE ? null : values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -1,27 +1,116 @@
 package com.giffing.spel.validator.core.result;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.springframework.util.ClassUtils;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Getter
-@RequiredArgsConstructor
-public class SpelScanResult {
+public class SpelScanResult implements Serializable {
 
     private final Status status;
-    private final Class<?> clazz;
+    @Getter(AccessLevel.NONE)
+    private final transient Class<?> clazz;
+    private final String className;
     private final String method;
     private final String expression;
     private final String errorMessage;
     private final ExpressionResult expressionResult;
+    /**
+     * All places which use the expression. It contains only the class and method of this result unless the results
+     * were deduplicated.
+     */
+    private final List<Site> sites;
+
+    public SpelScanResult(Status status, Class<?> clazz, String method, String expression, String errorMessage, ExpressionResult expressionResult) {
+        this(status, clazz, clazz != null ? clazz.getName() : null, method, expression, errorMessage, expressionResult);
+    }
+
+    public SpelScanResult(Status status, Class<?> clazz, String className, String method, String expression, String errorMessage, ExpressionResult expressionResult) {
+        this(status, clazz, className, method, expression, errorMessage, expressionResult, List.of(new Site(className, method)));
+    }
+
+    /**
+     * @param sites all places which use the expression, the first site is the class and method of the result
+     */
+    public SpelScanResult(Status status, Class<?> clazz, String className, String method, String expression, String errorMessage, ExpressionResult expressionResult, List<Site> sites) {
+        this.status = status;
+        this.clazz = clazz;
+        this.className = className;
+        this.method = method;
+        this.expression = expression;
+        this.errorMessage = errorMessage;
+        this.expressionResult = expressionResult;
+        this.sites = List.copyOf(sites);
+    }
 
     public static SpelScanResult valid(Class<?> clazzName, String method, String expression, ExpressionResult expressionResult) {
         return new SpelScanResult(Status.VALID, clazzName, method, expression, null, expressionResult);
     }
 
+    public static SpelScanResult valid(String className, String method, String expression, ExpressionResult expressionResult) {
+        return new SpelScanResult(Status.VALID, null, className, method, expression, null, expressionResult);
+    }
+
     public static SpelScanResult invalid(Class<?> clazzName, String method, String expression, String errorMessage) {
         return new SpelScanResult(Status.INVALID, clazzName, method, expression, errorMessage, null);
     }
 
+    public static SpelScanResult invalid(String className, String method, String expression, String errorMessage) {
+        return new SpelScanResult(Status.INVALID, null, className, method, expression, errorMessage, null);
+    }
+
+    /**
+     * Returns the scanned class if it was loaded for the scan. The class is null if the expression was read from the
+     * class file without loading the class ({@code BYTECODE} and {@code INDEX} extraction mode), if the result was
+     * restored from the scan cache or if it was deserialized.
+     *
+     * @return the scanned class or null
+     * @deprecated the class is only available in {@code REFLECTION} mode, use {@link #getClassName()} instead
+     */
+    @Deprecated(since = "1.0")
+    public Class<?> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * @return the class name without the package
+     */
+    public String getSimpleClassName() {
+        return className != null ? ClassUtils.getShortName(className) : null;
+    }
+
+    /**
+     * @return the locations of all sites of the expression for messages, e.g. {@code MyController(myMethod)} or
+     * {@code MyController(myMethod), OtherController(otherMethod)}
+     */
+    public String getLocation() {
+        if (sites.size() == 1) {
+            return sites.get(0).getLocation();
+        }
+        return sites.stream().map(Site::getLocation).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * A place which uses an expression.
+     *
+     * @param className the name of the class
+     * @param method    the name of the method or null if the annotation is declared on the class
+     */
+    public record Site(String className, String method) implements Serializable {
+
+        /**
+         * @return the location for messages, e.g. {@code MyController(myMethod)}
+         */
+        public String getLocation() {
+            var simpleClassName = className != null ? ClassUtils.getShortName(className) : null;
+            return "%s%s".formatted(simpleClassName, method != null ? "(" + method + ")" : "");
+        }
+    }
+
     /**
      * Status of parsing the SpEL expression.
      */
@@ -0,0 +1,41 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.SpelValidator;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.List;
+
+/**
+ * All expressions must be syntactically valid.
+ */
+public class AllValidRule implements SpelRule {
+
+    @Override
+    public String getId() {
+        return "all-valid";
+    }
+
+    @Override
+    public void check(SpelScanResult result, List<ValidationItem> violations) {
+    }
+
+    @Override
+    public void checkInvalid(SpelScanResult result, List<ValidationItem> violations) {
+        violations.add(ValidationItem.of(SpelValidator.getErrorMessageOfInvalidExpression(result)));
+    }
+
+    @Override
+    public void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+    }
+
+    @Override
+    public ValidationResult createResult(List<ValidationItem> violations) {
+        if (violations.isEmpty()) {
+            return new ValidationResult(ValidationResult.ValidationStatus.OK, "All expressions are valid", violations);
+        }
+        return new ValidationResult(ValidationResult.ValidationStatus.ERROR, "Found invalid SpEL expressions", violations);
+    }
+}
@@ -0,0 +1,109 @@
+package com.giffing.spel.validator.core.rule;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable list of allowed values which is normalized into a hash set once.
+ * <p>
+ * Depending on the {@link MatchMode} a value is allowed if it equals one of the values, equals one of the values
+ * ignoring the case or starts with one of the values.
+ */
+public class AllowList {
+
+    private final List<String> values;
+
+    private final MatchMode matchMode;
+
+    private final Set<String> normalizedValues;
+
+    /**
+     * The distinct lengths of the values, used to look up the prefixes of a value in {@link MatchMode#PREFIX}.
+     */
+    private final int[] prefixLengths;
+
+    private AllowList(Collection<String> values, MatchMode matchMode) {
+        this.values = List.copyOf(values);
+        this.matchMode = matchMode;
+        this.normalizedValues = this.values.stream()
+                .map(this::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+        this.prefixLengths = this.normalizedValues.stream()
+                .mapToInt(String::length)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    public static AllowList of(Collection<String> values) {
+        return new AllowList(values, MatchMode.EXACT);
+    }
+
+    public static AllowList of(Collection<String> values, MatchMode matchMode) {
+        return new AllowList(values, matchMode);
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+
+    public MatchMode getMatchMode() {
+        return matchMode;
+    }
+
+    /**
+     * @param value the value to check
+     * @return true if the value is allowed
+     */
+    public boolean matches(String value) {
+        if (value == null) {
+            return false;
+        }
+        var normalizedValue = normalize(value);
+        if (matchMode != MatchMode.PREFIX) {
+            return normalizedValues.contains(normalizedValue);
+        }
+        for (int length : prefixLengths) {
+            if (length > normalizedValue.length()) {
+                return false;
+            }
+            if (normalizedValues.contains(normalizedValue.substring(0, length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String normalize(String value) {
+        return matchMode == MatchMode.CASE_INSENSITIVE ? value.toLowerCase(Locale.ROOT) : value;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+
+    /**
+     * Defines how a value is compared with the values of the allow list.
+     */
+    public enum MatchMode {
+
+        /**
+         * The value must be equal to one of the allowed values.
+         */
+        EXACT,
+
+        /**
+         * The value must be equal to one of the allowed values ignoring the case.
+         */
+        CASE_INSENSITIVE,
+
+        /**
+         * The value must start with one of the allowed values, e.g. {@code ROLE_} allows {@code ROLE_ADMIN}.
+         */
+        PREFIX
+    }
+}
@@ -0,0 +1,104 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.result.SpelMethod;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Only the given parameter values may be passed to the method with the given name.
+ */
+public class MethodParameterRule implements SpelRule {
+
+    @Getter
+    private final String methodName;
+
+    private final AllowList allowedParams;
+
+    public MethodParameterRule(String methodName, List<String> allowedParams) {
+        this(methodName, AllowList.of(allowedParams));
+    }
+
+    /**
+     * @param methodName    the name of the method to check
+     * @param allowedParams the allowed parameter values. Literal parameters are compared by their typed value, e.g.
+     *                      {@code ROLE_ADMIN} for {@code 'ROLE_ADMIN'}, other parameters as written in the expression.
+     */
+    public MethodParameterRule(String methodName, AllowList allowedParams) {
+        this.methodName = methodName;
+        this.allowedParams = allowedParams;
+    }
+
+    @Override
+    public String getId() {
+        return "method-parameter";
+    }
+
+    @Override
+    public void check(SpelScanResult result, List<ValidationItem> violations) {
+        for (var method : result.getExpressionResult().getMethodReferences()) {
+            if (methodName.equals(method.getName())) {
+                checkMethod(result, method, violations);
+            }
+        }
+    }
+
+    /**
+     * Checks the parameters of a method reference with the name of this rule.
+     *
+     * @param result     the scan result containing the method reference
+     * @param method     the method reference
+     * @param violations the violations of this rule
+     */
+    public void checkMethod(SpelScanResult result, SpelMethod method, List<ValidationItem> violations) {
+        checkMethod(result::getLocation, method, violations);
+    }
+
+    @Override
+    public void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+        for (int methodId : resultStore.getMethodIds(index)) {
+            var method = resultStore.getMethodReference(methodId);
+            if (methodName.equals(method.getName())) {
+                checkMethod(resultStore, index, method, violations);
+            }
+        }
+    }
+
+    /**
+     * Checks the parameters of a method reference with the name of this rule.
+     *
+     * @param resultStore the result store
+     * @param index       the index of the expression containing the method reference
+     * @param method      the method reference
+     * @param violations  the violations of this rule
+     */
+    public void checkMethod(SpelResultStore resultStore, int index, SpelMethod method, List<ValidationItem> violations) {
+        checkMethod(() -> resultStore.getLocation(index), method, violations);
+    }
+
+    /**
+     * @param location creates the location of the expression, only called for a violation
+     */
+    private void checkMethod(Supplier<String> location, SpelMethod method, List<ValidationItem> violations) {
+        for (var param : method.getParams()) {
+            if (!allowedParams.matches(param.getPlainValue())) {
+                violations.add(ValidationItem.of("%s - Method '%s' uses not allowed parameter value '%s'"
+                        .formatted(location.get(), methodName, param.getValue())));
+            }
+        }
+    }
+
+    @Override
+    public ValidationResult createResult(List<ValidationItem> violations) {
+        if (violations.isEmpty()) {
+            return new ValidationResult(ValidationResult.ValidationStatus.OK, "All method parameters are valid", violations);
+        }
+        return new ValidationResult(ValidationResult.ValidationStatus.ERROR,
+                "Method '%s' parameter value not allowed - (allowed:'%s')".formatted(methodName, allowedParams), violations);
+    }
+}
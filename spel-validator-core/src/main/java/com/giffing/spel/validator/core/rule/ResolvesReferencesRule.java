@@ -0,0 +1,48 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.SpelSemanticValidator;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.List;
+
+/**
+ * All bean and method references must be resolvable against the real types, see {@link SpelSemanticValidator}.
+ */
+public class ResolvesReferencesRule implements SpelRule {
+
+    private final SpelSemanticValidator semanticValidator;
+
+    public ResolvesReferencesRule(SpelSemanticValidator semanticValidator) {
+        this.semanticValidator = semanticValidator;
+    }
+
+    @Override
+    public String getId() {
+        return "resolves-references";
+    }
+
+    @Override
+    public void check(SpelScanResult result, List<ValidationItem> violations) {
+        for (var problem : semanticValidator.validate(result.getExpression())) {
+            violations.add(ValidationItem.of("%s - %s".formatted(result.getLocation(), problem)));
+        }
+    }
+
+    @Override
+    public void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+        for (var problem : semanticValidator.validate(resultStore.getExpression(index))) {
+            violations.add(ValidationItem.of("%s - %s".formatted(resultStore.getLocation(index), problem)));
+        }
+    }
+
+    @Override
+    public ValidationResult createResult(List<ValidationItem> violations) {
+        if (violations.isEmpty()) {
+            return new ValidationResult(ValidationResult.ValidationStatus.OK, "All references can be resolved", violations);
+        }
+        return new ValidationResult(ValidationResult.ValidationStatus.ERROR, "Found unresolvable bean or method references", violations);
+    }
+}
@@ -0,0 +1,64 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.List;
+
+/**
+ * A rule which is checked against every valid SpEL expression of a scan.
+ * <p>
+ * Rules are registered in a {@link SpelRuleSet} which evaluates all rules in a single pass over the scan results or
+ * over the rows of a {@link SpelResultStore}.
+ */
+public interface SpelRule {
+
+    /**
+     * A stable id of the rule for reports, e.g. the rule id of a SARIF report. Custom rules should override it, the
+     * default is the class name.
+     *
+     * @return the id of the rule
+     */
+    default String getId() {
+        return getClass().getName();
+    }
+
+    /**
+     * Checks a single valid expression and adds a violation for each finding.
+     *
+     * @param result     the scan result of a valid expression
+     * @param violations the violations of this rule
+     */
+    void check(SpelScanResult result, List<ValidationItem> violations);
+
+    /**
+     * Checks a single invalid expression. Most rules can't check invalid expressions and ignore them.
+     *
+     * @param result     the scan result of an invalid expression
+     * @param violations the violations of this rule
+     */
+    default void checkInvalid(SpelScanResult result, List<ValidationItem> violations) {
+    }
+
+    /**
+     * Checks a single valid expression of a result store. The default creates the scan result of the index, the
+     * built-in rules read only the columns they need.
+     *
+     * @param resultStore the result store
+     * @param index       the index of a valid expression
+     * @param violations  the violations of this rule
+     */
+    default void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+        check(resultStore.get(index), violations);
+    }
+
+    /**
+     * Creates the result of this rule after all expressions are checked.
+     *
+     * @param violations all violations of this rule
+     * @return the validation result of this rule
+     */
+    ValidationResult createResult(List<ValidationItem> violations);
+}
@@ -0,0 +1,266 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.SpelSemanticValidator;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A set of rules which are evaluated together in a single pass over the scan results.
+ * <p>
+ * The rules are compiled once when the rule set is built: the allow lists are stored in hash sets and the method
+ * parameter rules are indexed by method name, so each method reference of an expression is only dispatched to the
+ * rules of its method.
+ * <pre>{@code
+ * var ruleSet = SpelRuleSet.builder()
+ *         .allValid()
+ *         .usesOnlyBeans(List.of("mySecurityBean"))
+ *         .usesOnlyMethods(List.of("hasRole", "check"))
+ *         .verifyMethodParameter("hasRole", List.of("ROLE_ADMIN", "ROLE_USER"))
+ *         .build();
+ * List<ValidationResult> results = ruleSet.validate(scanResults);
+ * }</pre>
+ */
+public class SpelRuleSet {
+
+    private final List<SpelRule> rules;
+
+    /**
+     * Index of all rules which are checked for every expression.
+     */
+    private final int[] expressionRules;
+
+    /**
+     * Index of the method parameter rules by the name of their method.
+     */
+    private final Map<String, int[]> methodParameterRules;
+
+    private SpelRuleSet(List<SpelRule> rules) {
+        this.rules = List.copyOf(rules);
+        List<Integer> expressionRuleIndexes = new ArrayList<>();
+        Map<String, List<Integer>> methodRuleIndexes = new HashMap<>();
+        for (int i = 0; i < this.rules.size(); i++) {
+            if (this.rules.get(i) instanceof MethodParameterRule methodParameterRule) {
+                methodRuleIndexes.computeIfAbsent(methodParameterRule.getMethodName(), k -> new ArrayList<>()).add(i);
+            } else {
+                expressionRuleIndexes.add(i);
+            }
+        }
+        this.expressionRules = toArray(expressionRuleIndexes);
+        this.methodParameterRules = new HashMap<>();
+        methodRuleIndexes.forEach((methodName, indexes) -> this.methodParameterRules.put(methodName, toArray(indexes)));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<SpelRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Evaluates all rules while consuming the stream, e.g. from {@code SpelScanner.stream(...)}. Only the violations
+     * are kept in memory, not the scan results.
+     *
+     * @param scanResults the scan results to validate
+     * @return one validation result per rule in the order the rules were registered
+     */
+    public List<ValidationResult> validate(Stream<SpelScanResult> scanResults) {
+        return validate(scanResults::iterator);
+    }
+
+    /**
+     * Evaluates all rules in a single pass over the scan results. Invalid expressions are only passed to
+     * {@link SpelRule#checkInvalid(SpelScanResult, List)}.
+     *
+     * @param scanResults the scan results to validate
+     * @return one validation result per rule in the order the rules were registered
+     */
+    public List<ValidationResult> validate(Iterable<SpelScanResult> scanResults) {
+        return validate(scanResults, null);
+    }
+
+    /**
+     * Evaluates all rules in a single pass over the scan results and reports each violation together with the scan
+     * result causing it, e.g. to relate the violations to the scanned files.
+     *
+     * @param scanResults the scan results to validate
+     * @param listener    receives each violation as soon as it is found, may be null
+     * @return one validation result per rule in the order the rules were registered
+     */
+    public List<ValidationResult> validate(Iterable<SpelScanResult> scanResults, ViolationListener listener) {
+        var violations = createViolations();
+        for (SpelScanResult result : scanResults) {
+            if (result.getStatus() != SpelScanResult.Status.VALID) {
+                for (int i = 0; i < rules.size(); i++) {
+                    var ruleViolations = violations.get(i);
+                    int found = ruleViolations.size();
+                    rules.get(i).checkInvalid(result, ruleViolations);
+                    notify(listener, i, result, ruleViolations, found);
+                }
+                continue;
+            }
+            for (int index : expressionRules) {
+                var ruleViolations = violations.get(index);
+                int found = ruleViolations.size();
+                rules.get(index).check(result, ruleViolations);
+                notify(listener, index, result, ruleViolations, found);
+            }
+            if (methodParameterRules.isEmpty()) {
+                continue;
+            }
+            for (var method : result.getExpressionResult().getMethodReferences()) {
+                var indexes = methodParameterRules.get(method.getName());
+                if (indexes != null) {
+                    for (int index : indexes) {
+                        var ruleViolations = violations.get(index);
+                        int found = ruleViolations.size();
+                        ((MethodParameterRule) rules.get(index)).checkMethod(result, method, ruleViolations);
+                        notify(listener, index, result, ruleViolations, found);
+                    }
+                }
+            }
+        }
+        return createResults(violations);
+    }
+
+    /**
+     * Evaluates all rules in a single pass over the rows of the result store. The rules read the columns of the valid
+     * expressions, only the scan results of invalid expressions are created for
+     * {@link SpelRule#checkInvalid(SpelScanResult, List)}.
+     *
+     * @param resultStore the results to validate
+     * @return one validation result per rule in the order the rules were registered
+     */
+    public List<ValidationResult> validate(SpelResultStore resultStore) {
+        var violations = createViolations();
+        for (int row = 0; row < resultStore.size(); row++) {
+            if (resultStore.getStatus(row) != SpelScanResult.Status.VALID) {
+                var result = resultStore.get(row);
+                for (int i = 0; i < rules.size(); i++) {
+                    rules.get(i).checkInvalid(result, violations.get(i));
+                }
+                continue;
+            }
+            for (int index : expressionRules) {
+                rules.get(index).check(resultStore, row, violations.get(index));
+            }
+            if (methodParameterRules.isEmpty()) {
+                continue;
+            }
+            for (int methodId : resultStore.getMethodIds(row)) {
+                var method = resultStore.getMethodReference(methodId);
+                var indexes = methodParameterRules.get(method.getName());
+                if (indexes != null) {
+                    for (int index : indexes) {
+                        ((MethodParameterRule) rules.get(index)).checkMethod(resultStore, row, method, violations.get(index));
+                    }
+                }
+            }
+        }
+        return createResults(violations);
+    }
+
+    /**
+     * Passes the violations the rule added after the first {@code found} ones to the listener.
+     */
+    private void notify(ViolationListener listener, int index, SpelScanResult result,
+                        List<ValidationItem> ruleViolations, int found) {
+        if (listener == null) {
+            return;
+        }
+        for (int i = found; i < ruleViolations.size(); i++) {
+            listener.violationFound(rules.get(index), result, ruleViolations.get(i));
+        }
+    }
+
+    private List<List<ValidationItem>> createViolations() {
+        List<List<ValidationItem>> violations = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            violations.add(new ArrayList<>());
+        }
+        return violations;
+    }
+
+    private List<ValidationResult> createResults(List<List<ValidationItem>> violations) {
+        List<ValidationResult> validationResults = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            validationResults.add(rules.get(i).createResult(violations.get(i)));
+        }
+        return validationResults;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Receives the violations of a validation together with the scan result causing them.
+     */
+    @FunctionalInterface
+    public interface ViolationListener {
+
+        /**
+         * @param rule   the violated rule
+         * @param result the scan result violating the rule
+         * @param item   the violation
+         */
+        void violationFound(SpelRule rule, SpelScanResult result, ValidationItem item);
+    }
+
+    public static class Builder {
+
+        private final List<SpelRule> rules = new ArrayList<>();
+
+        private AllowList.MatchMode matchMode = AllowList.MatchMode.EXACT;
+
+        private Builder() {
+        }
+
+        /**
+         * Defines how the allowed values of the subsequently added rules are matched. Defaults to
+         * {@link AllowList.MatchMode#EXACT}.
+         */
+        public Builder matchMode(AllowList.MatchMode matchMode) {
+            this.matchMode = matchMode;
+            return this;
+        }
+
+        public Builder allValid() {
+            return rule(new AllValidRule());
+        }
+
+        public Builder usesOnlyBeans(List<String> allowedBeans) {
+            return rule(new UsesOnlyBeansRule(AllowList.of(allowedBeans, matchMode)));
+        }
+
+        public Builder usesOnlyMethods(List<String> allowedMethods) {
+            return rule(new UsesOnlyMethodsRule(AllowList.of(allowedMethods, matchMode)));
+        }
+
+        public Builder verifyMethodParameter(String methodName, List<String> allowedParams) {
+            return rule(new MethodParameterRule(methodName, AllowList.of(allowedParams, matchMode)));
+        }
+
+        public Builder resolvesReferences(SpelSemanticValidator semanticValidator) {
+            return rule(new ResolvesReferencesRule(semanticValidator));
+        }
+
+        public Builder rule(SpelRule rule) {
+            this.rules.add(rule);
+            return this;
+        }
+
+        public SpelRuleSet build() {
+            return new SpelRuleSet(rules);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Only the given beans may be referenced in the expressions.
+ */
+public class UsesOnlyBeansRule implements SpelRule {
+
+    private final AllowList allowedBeans;
+
+    public UsesOnlyBeansRule(List<String> allowedBeans) {
+        this(AllowList.of(allowedBeans));
+    }
+
+    public UsesOnlyBeansRule(AllowList allowedBeans) {
+        this.allowedBeans = allowedBeans;
+    }
+
+    @Override
+    public String getId() {
+        return "uses-only-beans";
+    }
+
+    @Override
+    public void check(SpelScanResult result, List<ValidationItem> violations) {
+        var notAllowed = result.getExpressionResult().getBeanReferences().stream()
+                .filter(b -> !allowedBeans.matches(b))
+                .toList();
+        if (!notAllowed.isEmpty()) {
+            violations.add(ValidationItem.of("%s - '%s'".formatted(result.getLocation(), notAllowed)));
+        }
+    }
+
+    @Override
+    public void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+        List<String> notAllowed = null;
+        for (int beanId : resultStore.getBeanIds(index)) {
+            var bean = resultStore.getString(beanId);
+            if (!allowedBeans.matches(bean)) {
+                notAllowed = notAllowed == null ? new ArrayList<>() : notAllowed;
+                notAllowed.add(bean);
+            }
+        }
+        if (notAllowed != null) {
+            violations.add(ValidationItem.of("%s - '%s'".formatted(resultStore.getLocation(index), notAllowed)));
+        }
+    }
+
+    @Override
+    public ValidationResult createResult(List<ValidationItem> violations) {
+        if (violations.isEmpty()) {
+            return new ValidationResult(ValidationResult.ValidationStatus.OK, "All beans are valid", violations);
+        }
+        return new ValidationResult(ValidationResult.ValidationStatus.ERROR,
+                "Bean reference not allowed - (allowed:'%s')".formatted(allowedBeans), violations);
+    }
+}
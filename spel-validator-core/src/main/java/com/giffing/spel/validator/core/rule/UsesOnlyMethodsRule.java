@@ -0,0 +1,66 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.result.SpelMethod;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Only the given methods may be called in the expressions.
+ */
+public class UsesOnlyMethodsRule implements SpelRule {
+
+    private final AllowList allowedMethods;
+
+    public UsesOnlyMethodsRule(List<String> allowedMethods) {
+        this(AllowList.of(allowedMethods));
+    }
+
+    public UsesOnlyMethodsRule(AllowList allowedMethods) {
+        this.allowedMethods = allowedMethods;
+    }
+
+    @Override
+    public String getId() {
+        return "uses-only-methods";
+    }
+
+    @Override
+    public void check(SpelScanResult result, List<ValidationItem> violations) {
+        var notAllowed = result.getExpressionResult().getMethodReferences().stream()
+                .map(SpelMethod::getName)
+                .filter(m -> !allowedMethods.matches(m))
+                .toList();
+        if (!notAllowed.isEmpty()) {
+            violations.add(ValidationItem.of("%s - '%s'".formatted(result.getLocation(), notAllowed)));
+        }
+    }
+
+    @Override
+    public void check(SpelResultStore resultStore, int index, List<ValidationItem> violations) {
+        List<String> notAllowed = null;
+        for (int methodId : resultStore.getMethodIds(index)) {
+            var methodName = resultStore.getMethodReference(methodId).getName();
+            if (!allowedMethods.matches(methodName)) {
+                notAllowed = notAllowed == null ? new ArrayList<>() : notAllowed;
+                notAllowed.add(methodName);
+            }
+        }
+        if (notAllowed != null) {
+            violations.add(ValidationItem.of("%s - '%s'".formatted(resultStore.getLocation(index), notAllowed)));
+        }
+    }
+
+    @Override
+    public ValidationResult createResult(List<ValidationItem> violations) {
+        if (violations.isEmpty()) {
+            return new ValidationResult(ValidationResult.ValidationStatus.OK, "All methods are valid", violations);
+        }
+        return new ValidationResult(ValidationResult.ValidationStatus.ERROR,
+                "Method reference not allowed - (allowed:'%s')".formatted(allowedMethods), violations);
+    }
+}
@@ -1,13 +1,27 @@
 package com.giffing.spel.validator.core;
 
 import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MehrfachAnnotation;
+import com.giffing.spel.validator.core.example1.MehrfachKlasse;
 import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.core.example2.Doppelklasse;
+import com.giffing.spel.validator.core.listener.ScanStatistics;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
 public class SpELScannerTest {
@@ -37,15 +51,255 @@ public class SpELScannerTest {
                         \t Expression: {}
                         \t In class: {}
                         \t In method: {}
-                        """, validMessage, r.getExpression(), r.getClazz().getSimpleName(), r.getMethod());
+                        """, validMessage, r.getExpression(), r.getSimpleClassName(), r.getMethod());
                 case INVALID -> log.error("""
                         {}
                         \t Expression: {}
                         \t In class: {}
                         \t In method: {}
-                        """,invalidMessage, r.getExpression(), r.getClazz().getSimpleName(), r.getMethod());
+                        """,invalidMessage, r.getExpression(), r.getSimpleClassName(), r.getMethod());
             }
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parallelScanReturnsSameResultsInSameOrder() {
+        var sequential = spelScanner.scan(config);
+        var parallelConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotations(config.getAnnotations())
+                .executor(ForkJoinPool.commonPool())
+                .build();
+        var parallel = spelScanner.scan(parallelConfig);
+        assertThat(parallel).extracting(SpELScannerTest::describe)
+                .containsExactlyElementsOf(sequential.stream().map(SpELScannerTest::describe).toList());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void bytecodeScanReadsSameExpressionsWithoutLoadingClasses() {
+        var reflection = spelScanner.scan(config);
+        var bytecodeConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotations(config.getAnnotations())
+                .extractionMode(ExtractionMode.BYTECODE)
+                .build();
+        var bytecode = spelScanner.scan(bytecodeConfig);
+        assertThat(bytecode).isNotEmpty();
+        assertThat(bytecode).allMatch(r -> r.getClazz() == null);
+        assertThat(bytecode).extracting(SpELScannerTest::describe)
+                .containsExactlyInAnyOrderElementsOf(reflection.stream().map(SpELScannerTest::describe).toList());
+        assertThat(bytecode).extracting(SpELScannerTest::describe)
+                .contains(Testklasse.class.getName() + "#null:hasRole('ROLE_ADMIN'):VALID",
+                        Testklasse.class.getName() + "#alias_annotation:hasRole('alias_annotation'):VALID");
+    }
+
+    @Test
+    public void classesDirectoryScanReadsSameExpressionsAsBytecodeScan() throws Exception {
+        var bytecodeConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotations(config.getAnnotations())
+                .extractionMode(ExtractionMode.BYTECODE)
+                .executor(ForkJoinPool.commonPool())
+                .build();
+        var classesDirectory = Path.of(Testklasse.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        var results = spelScanner.scanClassesDirectory(bytecodeConfig, classesDirectory);
+
+        assertThat(results).extracting(SpELScannerTest::describe)
+                .containsExactlyElementsOf(spelScanner.scan(bytecodeConfig).stream().map(SpELScannerTest::describe).toList());
+    }
+
+    @Test
+    public void scansAllConfiguredAnnotationsAndAttributesOfAnElement() {
+        for (var mode : ExtractionMode.values()) {
+            var multiConfig = SpelConfiguration.builder()
+                    .basePackage(config.getBasePackage())
+                    .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                    .annotation(AnnotationToScan.of(MehrfachAnnotation.class, "value", "condition"))
+                    .extractionMode(mode)
+                    .build();
+            var results = spelScanner.scan(multiConfig).stream()
+                    .filter(r -> r.getClassName().equals(MehrfachKlasse.class.getName()))
+                    .toList();
+            assertThat(results).extracting(SpELScannerTest::describe)
+                    .containsExactly(
+                            MehrfachKlasse.class.getName() + "#null:hasRole('mehrfach'):VALID",
+                            MehrfachKlasse.class.getName() + "#null:true:VALID",
+                            MehrfachKlasse.class.getName() + "#method:hasRole('meine'):VALID",
+                            MehrfachKlasse.class.getName() + "#method:hasRole('method'):VALID",
+                            MehrfachKlasse.class.getName() + "#method:#id > 0:VALID");
+        }
+    }
+
+    @Test
+    public void indexScanReadsExpressionsRecordedAtCompileTime() {
+        var bytecodeConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .annotation(AnnotationToScan.of(MehrfachAnnotation.class, "value", "condition"))
+                .extractionMode(ExtractionMode.BYTECODE)
+                .build();
+        var indexConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotations(bytecodeConfig.getAnnotations())
+                .extractionMode(ExtractionMode.INDEX)
+                .build();
+        var bytecode = spelScanner.scan(bytecodeConfig);
+        var index = spelScanner.scan(indexConfig);
+        assertThat(index).isNotEmpty();
+        assertThat(index).extracting(SpELScannerTest::describe)
+                .containsExactlyElementsOf(bytecode.stream().map(SpELScannerTest::describe).toList());
+        try (var stream = spelScanner.stream(indexConfig)) {
+            assertThat(stream.map(SpELScannerTest::describe).toList())
+                    .containsExactlyElementsOf(index.stream().map(SpELScannerTest::describe).toList());
+        }
+    }
+
+    @Test
+    public void streamReturnsSameResultsAsScan() {
+        var scanned = spelScanner.scan(config);
+        try (var stream = spelScanner.stream(config)) {
+            assertThat(stream.map(SpELScannerTest::describe).toList())
+                    .containsExactlyElementsOf(scanned.stream().map(SpELScannerTest::describe).toList());
+        }
+        List<SpelScanResult> consumed = new ArrayList<>();
+        spelScanner.scan(config, consumed::add);
+        assertThat(consumed).extracting(SpELScannerTest::describe)
+                .containsExactlyElementsOf(scanned.stream().map(SpELScannerTest::describe).toList());
+    }
+
+    @Test
+    public void ruleSetConsumesStream() {
+        var ruleSet = SpelRuleSet.builder()
+                .allValid()
+                .usesOnlyBeans(List.of())
+                .build();
+        try (var stream = spelScanner.stream(config)) {
+            var validationResults = ruleSet.validate(stream);
+            assertThat(validationResults.get(0).getItems()).extracting(ValidationItem::getMessage)
+                    .containsExactly("Testklasse(invalid_closed_brackets) - Cannot perform check because of an invalid expressions. Please fix them first: "
+                            + spelScanner.scan(config).stream()
+                            .filter(r -> r.getStatus() == SpelScanResult.Status.INVALID)
+                            .findFirst().orElseThrow().getErrorMessage());
+            assertThat(validationResults.get(1).getItems()).extracting(ValidationItem::getMessage)
+                    .containsExactly("Testklasse(missing_bean) - '[unknownBean]'");
+        }
+    }
+
+    @Test
+    public void deduplicationMergesIdenticalExpressions() {
+        var statistics = new ScanStatistics();
+        var dedupConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .annotations(config.getAnnotations())
+                .deduplicate(true)
+                .listener(statistics)
+                .build();
+        var sites = spelScanner.scan(config);
+        var results = spelScanner.scan(dedupConfig);
+
+        assertThat(results).extracting(SpelScanResult::getExpression).doesNotHaveDuplicates();
+        assertThat(results).flatExtracting(SpelScanResult::getSites)
+                .containsExactlyInAnyOrderElementsOf(sites.stream().flatMap(r -> r.getSites().stream()).toList());
+        assertThat(statistics.getParsedExpressions()).isEqualTo(results.stream()
+                .filter(r -> r.getStatus() == SpelScanResult.Status.VALID)
+                .count());
+        var merged = results.stream().filter(r -> r.getExpression().equals("hasRole('B')")).findFirst().orElseThrow();
+        assertThat(merged.getSites()).containsExactly(
+                new SpelScanResult.Site(Testklasse.class.getName(), "correct"),
+                new SpelScanResult.Site(Doppelklasse.class.getName(), "lesen"),
+                new SpelScanResult.Site(Doppelklasse.class.getName(), "schreiben"));
+
+        var validationResults = SpelRuleSet.builder().usesOnlyMethods(List.of()).build().validate(results);
+        assertThat(validationResults.get(0).getItems()).extracting(ValidationItem::getMessage)
+                .contains("Testklasse(correct), Doppelklasse(lesen), Doppelklasse(schreiben) - '[hasRole]'");
+    }
+
+    @Test
+    public void scansIncludedPackagesWithoutExcludedPackages() {
+        var example1 = Testklasse.class.getPackageName();
+        var example2 = Doppelklasse.class.getPackageName();
+        var multiPackageConfig = SpelConfiguration.builder()
+                .includePackage(example2)
+                .includePackage(example1)
+                .includePackage("com.giffing.spel.validator.*.example1")
+                .annotations(config.getAnnotations())
+                .build();
+        var excludingConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .excludePackage(example1)
+                .annotations(config.getAnnotations())
+                .build();
+
+        assertThat(multiPackageConfig.getRootPackages()).containsExactly(example2, "com.giffing.spel.validator.*.example1");
+        assertThat(spelScanner.scan(multiPackageConfig)).extracting(SpELScannerTest::describe)
+                .containsExactlyElementsOf(spelScanner.scan(config).stream().map(SpELScannerTest::describe).toList());
+        assertThat(spelScanner.scan(excludingConfig)).extracting(SpelScanResult::getClassName)
+                .containsOnly(Doppelklasse.class.getName());
+    }
+
+    @Test
+    public void partitionsResultsByMostSpecificPackage() {
+        var example2 = Doppelklasse.class.getPackageName();
+        var partitionedConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .includePackage(example2)
+                .annotations(config.getAnnotations())
+                .build();
+
+        var partitions = spelScanner.scanPartitioned(partitionedConfig);
+
+        assertThat(partitions).containsOnlyKeys(config.getBasePackage(), example2);
+        assertThat(partitions.get(example2)).extracting(SpelScanResult::getClassName)
+                .containsOnly(Doppelklasse.class.getName())
+                .hasSize(2);
+        assertThat(partitions.get(config.getBasePackage())).extracting(SpelScanResult::getClassName)
+                .doesNotContain(Doppelklasse.class.getName())
+                .isNotEmpty();
+    }
+
+    @Test
+    public void partitionsByMostSegmentsInsteadOfLongestPattern() {
+        var pattern = "com.*.*.*.*.example2";
+        var partitionedConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .includePackage(pattern)
+                .annotations(config.getAnnotations())
+                .build();
+
+        var partitions = spelScanner.scanPartitioned(partitionedConfig);
+
+        assertThat(partitions.get(pattern)).extracting(SpelScanResult::getClassName)
+                .containsOnly(Doppelklasse.class.getName())
+                .hasSize(2);
+        assertThat(partitions.get(config.getBasePackage())).extracting(SpelScanResult::getClassName)
+                .doesNotContain(Doppelklasse.class.getName());
+    }
+
+    @Test
+    public void assignsDeduplicatedResultsToThePackagesOfAllSites() {
+        var example2 = Doppelklasse.class.getPackageName();
+        var partitionedConfig = SpelConfiguration.builder()
+                .basePackage(config.getBasePackage())
+                .includePackage(example2)
+                .annotations(config.getAnnotations())
+                .deduplicate(true)
+                .build();
+
+        var partitions = spelScanner.scanPartitioned(partitionedConfig);
+
+        var merged = partitions.get(config.getBasePackage()).stream()
+                .filter(r -> r.getExpression().equals("hasRole('B')"))
+                .findFirst().orElseThrow();
+        assertThat(merged.getSites()).extracting(SpelScanResult.Site::className)
+                .contains(Testklasse.class.getName(), Doppelklasse.class.getName());
+        assertThat(partitions.get(example2)).containsExactly(merged);
+        assertThat(partitions.get(config.getBasePackage())).filteredOn(r -> r == merged).hasSize(1);
+    }
+
+    private static String describe(SpelScanResult r) {
+        return r.getClassName() + "#" + r.getMethod() + ":" + r.getExpression() + ":" + r.getStatus();
+    }
+}
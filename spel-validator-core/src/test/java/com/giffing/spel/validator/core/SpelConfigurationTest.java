@@ -0,0 +1,101 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ResolvedAnnotation;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpelConfigurationTest {
+
+    @Test
+    void resolvesAnnotationsOnceAndSkipsUnknownAnnotations() {
+        var config = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotation(new AnnotationToScan("com.unknown.Annotation"))
+                .annotation(new AnnotationToScan(Testklasse.class.getName()))
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+
+        var resolved = config.getResolvedAnnotations();
+
+        assertThat(resolved).extracting(ResolvedAnnotation::getType).containsExactly(MeineAnnotation.class);
+        assertThat(resolved).extracting(ResolvedAnnotation::getAttributeName).containsExactly("value");
+        assertThat(config.getResolvedAnnotations()).isSameAs(resolved);
+    }
+
+    @Test
+    void usesConfiguredClassLoader() {
+        var classLoader = new ClassLoader(getClass().getClassLoader()) {
+        };
+        var config = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotations(List.of(AnnotationToScan.of(MeineAnnotation.class)))
+                .classLoader(classLoader)
+                .build();
+        assertThat(config.getClassLoader()).isSameAs(classLoader);
+        assertThat(new SpelScanner(new SpelExpressionParser()).scan(config)).isNotEmpty();
+    }
+
+    @Test
+    void fingerprintChangesWithScannedAttributes() {
+        var valueOnly = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+        var multipleAttributes = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotation(AnnotationToScan.of(MeineAnnotation.class, "value", "condition"))
+                .build();
+        assertThat(multipleAttributes.getFingerprint()).isNotEqualTo(valueOnly.getFingerprint());
+        assertThat(multipleAttributes.getResolvedAnnotations().get(0).getAttributeNames())
+                .containsExactly("value", "condition");
+    }
+
+    @Test
+    void includesPackagesMatchingPatternsUnlessExcluded() {
+        var config = SpelConfiguration.builder()
+                .includePackage("com.acme.*.api")
+                .includePackage("com.acme.shop.api.v2")
+                .includePackage("org.example")
+                .excludePackage("com.acme.legacy")
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+
+        assertThat(config.getRootPackages()).containsExactly("com.acme.*.api", "org.example");
+        assertThat(config.isIncluded("com.acme.shop.api.Controller")).isTrue();
+        assertThat(config.isIncluded("com.acme.shop.api.v2.Controller")).isTrue();
+        assertThat(config.isIncluded("com.acme.shop.Service")).isFalse();
+        assertThat(config.isIncluded("com.acme.legacy.api.Controller")).isFalse();
+        assertThat(config.isIncluded("org.example.sub.Klasse")).isTrue();
+        assertThat(config.isIncluded("org.examples.Klasse")).isFalse();
+    }
+
+    @Test
+    void fingerprintChangesWithPackages() {
+        var basePackageOnly = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+        var excluding = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .excludePackage(Testklasse.class.getPackageName() + ".legacy")
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+        assertThat(excluding.getFingerprint()).isNotEqualTo(basePackageOnly.getFingerprint());
+    }
+
+    @Test
+    void failsWithoutPackage() {
+        var config = SpelConfiguration.builder()
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .build();
+        assertThatThrownBy(config::getPackages).isInstanceOf(IllegalStateException.class);
+    }
+}
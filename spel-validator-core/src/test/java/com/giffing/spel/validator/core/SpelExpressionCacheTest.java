@@ -0,0 +1,56 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.result.SpelMethod;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpelExpressionCacheTest {
+
+    @Test
+    void parsesRepeatedExpressionsOnlyOnce() {
+        var cache = new SpelExpressionCache(10);
+        var parser = new SpelExpressionParser(cache);
+
+        var first = parser.parseExpression("hasRole('ROLE_ADMIN')");
+        var second = parser.parseExpression("hasRole('ROLE_ADMIN')");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getMethodReferences().stream().map(SpelMethod::getName)).containsExactly("hasRole");
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+        assertThat(cache.getStats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedExpression() {
+        var cache = new SpelExpressionCache(2);
+        var parser = new SpelExpressionParser(cache);
+
+        var a = parser.parseExpression("isAuthenticated()");
+        parser.parseExpression("hasRole('A')");
+        parser.parseExpression("isAuthenticated()");
+        parser.parseExpression("hasRole('B')");
+
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(parser.parseExpression("isAuthenticated()")).isSameAs(a);
+    }
+
+    @Test
+    void cachedResultsAreUnmodifiable() {
+        var parser = new SpelExpressionParser(new SpelExpressionCache(10));
+        var result = parser.parseExpression("@myBean.check()");
+        assertThatThrownBy(() -> result.addBeanReference("otherBean"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void doesNotCacheInvalidExpressions() {
+        var cache = new SpelExpressionCache(10);
+        var parser = new SpelExpressionParser(cache);
+        assertThatThrownBy(() -> parser.parseExpression("hasRole('C'))")).isInstanceOf(RuntimeException.class);
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -2,13 +2,19 @@ package com.giffing.spel.validator.core;
 
 import com.giffing.spel.validator.core.config.AnnotationToScan;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.AliasMeineAnnotation;
+import com.giffing.spel.validator.core.example1.MehrfachKlasse;
 import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.MethodOnlyKlasse;
 import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.vererbung.Unterklasse;
+import com.giffing.spel.validator.core.result.SpelScanResult;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class SpelExpressionLocatorTest {
 
@@ -23,6 +29,52 @@ class SpelExpressionLocatorTest {
         assertThat(candidates.stream().anyMatch(c -> c.getName().equals(Testklasse.class.getName()))).isTrue();
     }
 
+    @Test
+    void findsClassesWithAnnotatedMethodsOnly() {
+        var config = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotations(List.of(new AnnotationToScan(MeineAnnotation.class.getName())))
+                .build();
+        var candidates = SpelExpressionLocator.indexCandidates(config);
+        assertThat(candidates).extracting(SpelCandidate::getClassName)
+                .containsExactly(MehrfachKlasse.class.getName(), MethodOnlyKlasse.class.getName(), Testklasse.class.getName());
+        var methodOnly = candidates.get(1);
+        assertThat(methodOnly.isTypeAnnotated()).isFalse();
+        assertThat(methodOnly.getAnnotatedMethods()).containsExactly("method_only");
+        var testklasse = candidates.get(2);
+        assertThat(testklasse.isTypeAnnotated()).isTrue();
+        assertThat(testklasse.getAnnotatedMethods())
+                .containsExactly("alias_annotation", "correct", "invalid_closed_brackets", "missing_bean");
+    }
+
+    @Test
+    void findsMethodsOverridingAnnotatedMethods() {
+        var config = SpelConfiguration.builder()
+                .basePackage(Unterklasse.class.getPackageName())
+                .annotations(List.of(new AnnotationToScan(MeineAnnotation.class.getName())))
+                .build();
+        var candidates = SpelExpressionLocator.indexCandidates(config);
+        assertThat(candidates).filteredOn(c -> c.getClassName().equals(Unterklasse.class.getName()))
+                .singleElement()
+                .satisfies(candidate -> assertThat(candidate.getAnnotatedMethods()).containsExactly("pruefe"));
+
+        var results = new SpelScanner(new SpelExpressionParser()).scan(config);
+        assertThat(results).filteredOn(r -> r.getClassName().equals(Unterklasse.class.getName()))
+                .extracting(SpelScanResult::getMethod, SpelScanResult::getExpression)
+                .containsExactly(tuple("pruefe", "hasRole('basis')"));
+    }
+
+    @Test
+    void ignoresAnnotationTypes() {
+        var config = SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotations(List.of(new AnnotationToScan(MeineAnnotation.class.getName())))
+                .build();
+        var candidates = SpelExpressionLocator.indexCandidates(config);
+        assertThat(candidates).extracting(SpelCandidate::getClassName)
+                .doesNotContain(AliasMeineAnnotation.class.getName());
+    }
+
     @Test
     void returnsEmptySetForInvalidPackage() {
         var config = SpelConfiguration.builder()
@@ -1,7 +1,12 @@
 package com.giffing.spel.validator.core;
 
 import com.giffing.spel.validator.core.result.SpelMethod;
+import com.giffing.spel.validator.core.result.SpelMethodParam;
 import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.ast.MethodReference;
+
+import java.util.ArrayList;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -43,5 +48,30 @@ public class SpelExpressionParserTest {
         assertThat(result.getBeanReferences()).contains("beanA");
         assertThat(result.getMethodReferences().stream().map(SpelMethod::getName)).contains("methodA");
     }
-}
 
+    @Test
+    void visitsNodesInPreOrder() {
+        var methodNames = new ArrayList<String>();
+        parser.visit("@beanA.outerMethod(@beanB.innerMethod()) and last()", node -> {
+            if (node instanceof MethodReference m) {
+                methodNames.add(m.getName());
+            }
+        });
+        assertThat(methodNames).containsExactly("outerMethod", "innerMethod", "last");
+    }
+
+    @Test
+    void parsesLongComposedExpression() {
+        var expression = String.join(" and ", Collections.nCopies(500, "hasRole('A')"));
+        var result = parser.parseExpression(expression);
+        assertThat(result.getMethodReferences()).hasSize(1);
+    }
+
+    @Test
+    void parsesLiteralParameters() {
+        var result = parser.parseExpression("hasPermission(#id, 'it''s', 42)");
+        var params = result.getMethodReferences().iterator().next().getParams();
+        assertThat(params).extracting(SpelMethodParam::getLiteral).containsExactly(null, "it's", 42);
+        assertThat(params).extracting(SpelMethodParam::getPlainValue).containsExactly("#id", "it's", "42");
+    }
+}
@@ -0,0 +1,72 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.result.ExpressionResult;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelReferenceIndexTest {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+
+    private final List<SpelScanResult> results = List.of(
+            result("sperren", "hasRole('ROLE_ADMIN')"),
+            result("lesen", "hasRole('ROLE_LEGACY') or @sicherheit.darfLesen(#id)"),
+            SpelScanResult.invalid("com.example.Konto", "kaputt", "hasRole('ROLE_LEGACY'))", "Unexpected token"),
+            result("schreiben", "hasAnyRole('ROLE_ADMIN', 'ROLE_LEGACY') and @sicherheit.darfSchreiben(#id)"));
+
+    private final SpelReferenceIndex index = SpelReferenceIndex.of(results);
+
+    @Test
+    void findsTheSitesOfAReference() {
+        assertThat(index.getBeans()).containsExactly("sicherheit");
+        assertThat(index.getMethods()).containsExactlyInAnyOrder("hasRole", "hasAnyRole", "darfLesen", "darfSchreiben");
+        assertThat(index.getParameters("hasRole")).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_LEGACY");
+
+        assertThat(index.findByMethodParameter("hasRole", "ROLE_LEGACY")).extracting(SpelScanResult::getMethod)
+                .containsExactly("lesen");
+        assertThat(index.findByBean("sicherheit")).extracting(SpelScanResult::getMethod)
+                .containsExactly("lesen", "schreiben");
+        assertThat(index.findByMethod("hasAnyRole")).extracting(SpelScanResult::getMethod)
+                .containsExactly("schreiben");
+        assertThat(index.findByMethod("unbekannt")).isEmpty();
+    }
+
+    @Test
+    void findsTheSitesOfReferencesWhichAreNotAllowed() {
+        assertThat(index.findByMethodsNotIn(AllowList.of(List.of("hasRole", "darf"), AllowList.MatchMode.PREFIX)))
+                .extracting(SpelScanResult::getMethod)
+                .containsExactly("schreiben");
+        assertThat(index.findByMethodParametersNotIn("hasAnyRole", AllowList.of(List.of("ROLE_ADMIN"))))
+                .extracting(SpelScanResult::getMethod)
+                .containsExactly("schreiben");
+        assertThat(index.findByBeansNotIn(AllowList.of(List.of("sicherheit")))).isEmpty();
+    }
+
+    @Test
+    void validatorReportsTheSameViolationsAsTheRuleSet() {
+        var validator = new SpelValidator(results);
+        var ruleSet = SpelRuleSet.builder()
+                .usesOnlyBeans(List.of("andere"))
+                .usesOnlyMethods(List.of("hasRole"))
+                .verifyMethodParameter("hasRole", List.of("ROLE_ADMIN"))
+                .build()
+                .validate(results);
+
+        assertThat(List.of(validator.usesOnlyBeans(List.of("andere")),
+                validator.usesOnlyMethods(List.of("hasRole")),
+                validator.verifyMethodParameter("hasRole", List.of("ROLE_ADMIN"))))
+                .usingRecursiveComparison()
+                .isEqualTo(ruleSet);
+    }
+
+    private SpelScanResult result(String method, String expression) {
+        ExpressionResult expressionResult = parser.parseExpression(expression);
+        return SpelScanResult.valid("com.example.Konto", method, expression, expressionResult);
+    }
+}
@@ -0,0 +1,170 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.core.example2.Doppelklasse;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelScanCacheTest {
+
+    private final SpelScanner spelScanner = new SpelScanner(new SpelExpressionParser());
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void reusesResultsOfUnchangedClasses(@TempDir Path cacheDirectory) throws Exception {
+        var config = configuration(cacheDirectory, ExtractionMode.REFLECTION);
+
+        var firstScan = spelScanner.scan(config);
+        assertThat(firstScan).allMatch(r -> r.getClazz() != null);
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files.toList()).hasSize(1);
+        }
+
+        var secondScan = spelScanner.scan(config);
+        assertThat(secondScan).allMatch(r -> r.getClazz() == null);
+        assertThat(secondScan).extracting(SpelScanCacheTest::describe)
+                .containsExactlyElementsOf(firstScan.stream().map(SpelScanCacheTest::describe).toList());
+        assertThat(secondScan)
+                .filteredOn(r -> r.getStatus() == SpelScanResult.Status.VALID)
+                .allMatch(r -> r.getExpressionResult() != null);
+    }
+
+    @Test
+    void usesSeparateCacheForOtherConfiguration(@TempDir Path cacheDirectory) throws Exception {
+        spelScanner.scan(configuration(cacheDirectory, ExtractionMode.REFLECTION));
+        spelScanner.scan(configuration(cacheDirectory, ExtractionMode.BYTECODE));
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files.toList()).hasSize(2);
+        }
+    }
+
+    @Test
+    void scansAgainIfSuperclassChanged(@TempDir Path cacheDirectory, @TempDir Path directory) throws Exception {
+        source(directory, "Basis", "public class Basis { @MeineAnnotation(\"hasRole('A')\") public void pruefe() {} }");
+        source(directory, "Unter", "public class Unter extends Basis { @Override public void pruefe() {} }");
+        assertThat(scanSubclass(cacheDirectory, compile(directory))).containsExactly("hasRole('A')");
+
+        source(directory, "Basis", "public class Basis { @MeineAnnotation(\"hasRole('B')\") public void pruefe() {} }");
+        assertThat(scanSubclass(cacheDirectory, compile(directory))).containsExactly("hasRole('B')");
+    }
+
+    @Test
+    void readsTheClassFileOnceForAChangedClass(@TempDir Path cacheDirectory) throws Exception {
+        var config = configuration(cacheDirectory, ExtractionMode.BYTECODE);
+        var previousCache = SpelScanCache.open(config);
+        previousCache.put(candidate(Doppelklasse.class, new AtomicInteger()), List.of());
+        previousCache.store();
+        var reads = new AtomicInteger();
+        var candidate = candidate(Testklasse.class, reads);
+        var cache = SpelScanCache.open(config);
+
+        assertThat(cache.get(candidate)).isEmpty();
+        cache.put(candidate, List.of());
+
+        assertThat(reads).hasValue(1);
+    }
+
+    @Test
+    void removesTheTemporaryFileIfTheCacheCannotBeReplaced(@TempDir Path cacheDirectory) throws Exception {
+        var config = configuration(cacheDirectory, ExtractionMode.REFLECTION);
+        var blocked = cacheDirectory.resolve("spel-scan-" + config.getFingerprint() + ".cache");
+        Files.createDirectories(blocked.resolve("blocked"));
+
+        SpelScanCache.open(config).store();
+
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files.toList()).containsExactly(blocked);
+        }
+    }
+
+    /**
+     * Creates a candidate named like {@link Testklasse} with the class file of the given class, counting the reads.
+     */
+    private static SpelCandidate candidate(Class<?> classFileOf, AtomicInteger reads) throws IOException {
+        var classFile = new ClassPathResource(ClassUtils.convertClassNameToResourcePath(classFileOf.getName()) + ".class");
+        var resource = new ByteArrayResource(classFile.getContentAsByteArray()) {
+            @Override
+            public byte[] getContentAsByteArray() throws IOException {
+                reads.incrementAndGet();
+                return super.getContentAsByteArray();
+            }
+        };
+        var metadata = new SimpleMetadataReaderFactory().getMetadataReader(classFile).getAnnotationMetadata();
+        return new SpelCandidate(Testklasse.class.getName(), resource, false, Set.of(), metadata);
+    }
+
+    private List<String> scanSubclass(Path cacheDirectory, Path classesDirectory) throws IOException {
+        try (var classLoader = new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, getClass().getClassLoader())) {
+            var config = SpelConfiguration.builder()
+                    .basePackage("com.giffing.spel.validator.cache")
+                    .annotations(List.of(new AnnotationToScan(MeineAnnotation.class.getName())))
+                    .cacheDirectory(cacheDirectory)
+                    .classLoader(classLoader)
+                    .build();
+            return spelScanner.scan(config).stream()
+                    .filter(r -> r.getClassName().endsWith(".Unter"))
+                    .map(SpelScanResult::getExpression)
+                    .toList();
+        }
+    }
+
+    private static void source(Path directory, String className, String content) throws IOException {
+        var file = directory.resolve("src/com/giffing/spel/validator/cache/" + className + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package com.giffing.spel.validator.cache;\n\nimport "
+                + MeineAnnotation.class.getName() + ";\n\n" + content);
+    }
+
+    /**
+     * Compiles all sources into a new classes directory, so the class loader of each scan sees the current classes.
+     */
+    private static Path compile(Path directory) throws IOException {
+        var output = Files.createTempDirectory(directory, "classes");
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        try (var fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+             var sources = Files.walk(directory.resolve("src"))) {
+            var arguments = new ArrayList<>(List.of(
+                    "-proc:none", "-d", output.toString(), "-classpath", System.getProperty("java.class.path")));
+            var task = compiler.getTask(null, fileManager, null, arguments, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources.filter(Files::isRegularFile).toList()));
+            assertThat(task.call()).isTrue();
+        }
+        return output;
+    }
+
+    private static SpelConfiguration configuration(Path cacheDirectory, ExtractionMode extractionMode) {
+        return SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotations(List.of(new AnnotationToScan(MeineAnnotation.class.getName())))
+                .extractionMode(extractionMode)
+                .cacheDirectory(cacheDirectory)
+                .build();
+    }
+
+    private static String describe(SpelScanResult r) {
+        return r.getClassName() + "#" + r.getMethod() + ":" + r.getExpression() + ":" + r.getStatus();
+    }
+}
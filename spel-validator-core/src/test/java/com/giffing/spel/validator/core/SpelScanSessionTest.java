@@ -0,0 +1,110 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.core.example2.Doppelklasse;
+import com.giffing.spel.validator.core.listener.ScanListener;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelScanSessionTest {
+
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private SpelScanSession session;
+
+    @BeforeEach
+    void setup() {
+        session = new SpelScanSession(new SpelScanner(new SpelExpressionParser()) {
+            @Override
+            public List<SpelScanResult> scan(SpelConfiguration configuration) {
+                scans.incrementAndGet();
+                return super.scan(configuration);
+            }
+        });
+    }
+
+    @Test
+    void reusesResultsOfEnclosingPackage() {
+        var parent = session.scan(config(SpelScanSessionTest.class.getPackageName(), ExtractionMode.REFLECTION));
+        var child = session.scan(config(Testklasse.class.getPackageName(), ExtractionMode.REFLECTION));
+
+        assertThat(scans).hasValue(1);
+        assertThat(child).isNotEmpty().isSubsetOf(parent);
+        var directScan = new SpelScanner(new SpelExpressionParser())
+                .scan(config(Testklasse.class.getPackageName(), ExtractionMode.REFLECTION));
+        assertThat(child).extracting(SpelScanSessionTest::describe)
+                .containsExactlyElementsOf(directScan.stream().map(SpelScanSessionTest::describe).toList());
+    }
+
+    @Test
+    void reusesResultsOfTheUnionForSiblingPackages() {
+        var example1 = Testklasse.class.getPackageName();
+        var example2 = Doppelklasse.class.getPackageName();
+        var traversals = new AtomicInteger();
+        ScanListener listener = new ScanListener() {
+            @Override
+            public void candidatesFound(String basePackage, int candidates, Duration duration) {
+                traversals.incrementAndGet();
+            }
+        };
+        session.scan(SpelConfiguration.builder()
+                .includePackages(List.of(example1, example2))
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .listener(listener)
+                .build());
+
+        var first = session.scan(config(example1, ExtractionMode.REFLECTION));
+        var second = session.scan(config(example2, ExtractionMode.REFLECTION));
+
+        assertThat(scans).hasValue(1);
+        assertThat(traversals).hasValue(1);
+        assertThat(first).extracting(SpelScanResult::getClassName).isNotEmpty().allMatch(name -> name.startsWith(example1));
+        assertThat(second).extracting(SpelScanResult::getClassName).containsOnly(Doppelklasse.class.getName());
+    }
+
+    @Test
+    void scansAgainWithDifferentSettings() {
+        session.scan(config(Testklasse.class.getPackageName(), ExtractionMode.REFLECTION));
+        session.scan(config(Testklasse.class.getPackageName(), ExtractionMode.REFLECTION));
+        session.scan(config(Testklasse.class.getPackageName(), ExtractionMode.BYTECODE));
+
+        assertThat(scans).hasValue(2);
+        assertThat(session.size()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentRequestsScanOnce() {
+        var futures = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        session.scan(config(Testklasse.class.getPackageName(), ExtractionMode.REFLECTION))))
+                .toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(scans).hasValue(1);
+    }
+
+    private static SpelConfiguration config(String basePackage, ExtractionMode extractionMode) {
+        return SpelConfiguration.builder()
+                .basePackage(basePackage)
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .extractionMode(extractionMode)
+                .build();
+    }
+
+    private static String describe(SpelScanResult r) {
+        return r.getClassName() + "#" + r.getMethod() + ":" + r.getExpression() + ":" + r.getStatus();
+    }
+}
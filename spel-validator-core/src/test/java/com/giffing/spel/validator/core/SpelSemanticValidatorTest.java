@@ -0,0 +1,94 @@
+package com.giffing.spel.validator.core;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelSemanticValidatorTest {
+
+    private final SpelSemanticValidator validator = SpelSemanticValidator.forBeanTypes(Wurzel.class,
+            Map.of("sicherheit", Sicherheit.class));
+
+    @Test
+    void resolvesMethodsOfRootAndBeans() {
+        assertThat(validator.validate("hasRole('ADMIN') and hasAnyRole('A', 'B', 'C')")).isEmpty();
+        assertThat(validator.validate("@sicherheit.darfLesen(#id) or @sicherheit.getKonto(#id).isGesperrt()")).isEmpty();
+        assertThat(validator.validate("@sicherheit.getKonto(#id).toString()")).isEmpty();
+        assertThat(validator.validate("#konto.beliebig() and principal.name == 'x'")).isEmpty();
+    }
+
+    @Test
+    void reportsReferencesWhichCantBeResolved() {
+        assertThat(validator.validate("@unbekannt.darfLesen(#id)"))
+                .containsExactly("Bean 'unbekannt' doesn't exist");
+        assertThat(validator.validate("@sicherheit.darfSchreiben(#id) or hasRole('A', 'B')"))
+                .containsExactly(
+                        "Method 'darfSchreiben' with 1 parameter(s) doesn't exist on '" + Sicherheit.class.getName() + "'",
+                        "Method 'hasRole' with 2 parameter(s) doesn't exist on '" + Wurzel.class.getName() + "'");
+        assertThat(validator.validate("@sicherheit.getKonto(#id).isOffen()"))
+                .containsExactly("Method 'isOffen' with 0 parameter(s) doesn't exist on '" + Konto.class.getName() + "'");
+        assertThat(validator.validate("@sicherheit.darfLesen(@fehlt.id())"))
+                .containsExactly("Bean 'fehlt' doesn't exist");
+    }
+
+    @Test
+    void resolvesReferencesNestedInIndexersSelectionsAndProjections() {
+        assertThat(validator.validate("@sicherheit.konten[@fehlt.x()]"))
+                .containsExactly("Bean 'fehlt' doesn't exist");
+        assertThat(validator.validate("#konten[hasRole('A', 'B')].isGesperrt()"))
+                .containsExactly("Method 'hasRole' with 2 parameter(s) doesn't exist on '" + Wurzel.class.getName() + "'");
+        // the criteria are evaluated against the elements of unknown type, only the beans are checked
+        assertThat(validator.validate("@sicherheit.konten.?[beliebig() and @fehlt.x()].![@sicherheit.darfLesen(id)]"))
+                .containsExactly("Bean 'fehlt' doesn't exist");
+        assertThat(validator.validate("@sicherheit.konten.![@sicherheit.darfSchreiben(id)]"))
+                .containsExactly("Method 'darfSchreiben' with 1 parameter(s) doesn't exist on '" + Sicherheit.class.getName() + "'");
+    }
+
+    @Test
+    void ignoresInvalidExpressions() {
+        assertThat(validator.validate("hasRole('A'))")).isEmpty();
+    }
+
+    @Test
+    void resolvesBeansOfTheApplicationContext() {
+        var context = new StaticApplicationContext();
+        context.registerSingleton("sicherheit", Sicherheit.class);
+        context.refresh();
+        var contextValidator = SpelSemanticValidator.forApplicationContext(null, context);
+
+        var problems = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> contextValidator.validate("@sicherheit.darfLesen(" + i + ") and @sicherheit.fehlt() and beliebig()"))
+                .distinct()
+                .toList();
+
+        assertThat(problems).containsExactly(List.of(
+                "Method 'fehlt' with 0 parameter(s) doesn't exist on '" + Sicherheit.class.getName() + "'"));
+    }
+
+    interface Wurzel {
+        boolean hasRole(String role);
+
+        boolean hasAnyRole(String... roles);
+    }
+
+    public static class Sicherheit {
+        public boolean darfLesen(Long id) {
+            return true;
+        }
+
+        public Konto getKonto(Long id) {
+            return new Konto();
+        }
+    }
+
+    public static class Konto {
+        public boolean isGesperrt() {
+            return false;
+        }
+    }
+}
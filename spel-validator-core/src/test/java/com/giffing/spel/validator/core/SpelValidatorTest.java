@@ -1,6 +1,7 @@
 package com.giffing.spel.validator.core;
 
 import com.giffing.spel.validator.core.result.*;
+import com.giffing.spel.validator.core.rule.AllowList;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
@@ -71,6 +72,23 @@ class SpelValidatorTest {
         assertThat(resultNotAllowed.getStatus()).isEqualTo(ValidationResult.ValidationStatus.ERROR);
     }
 
+    /**
+     * Tests the prefix match mode and typed literal parameters.
+     */
+    @Test
+    void testMatchModeAndLiteralParameters() {
+        var method = new SpelMethod("hasPermission", List.of(new SpelMethodParam("'ROLE_USER'"), new SpelMethodParam("42", 42)));
+        var scanResult = TestUtil.createScanResultWithMethods(List.of(method));
+        var validator = new SpelValidator(List.of(scanResult), AllowList.MatchMode.PREFIX);
+        assertThat(validator.verifyMethodParameter("hasPermission", List.of("ROLE_", "4")).getStatus())
+                .isEqualTo(ValidationResult.ValidationStatus.OK);
+        assertThat(validator.usesOnlyMethods(List.of("has")).getStatus())
+                .isEqualTo(ValidationResult.ValidationStatus.OK);
+        var exactValidator = new SpelValidator(List.of(scanResult));
+        assertThat(exactValidator.verifyMethodParameter("hasPermission", List.of("ROLE_USER", "42")).getStatus())
+                .isEqualTo(ValidationResult.ValidationStatus.OK);
+    }
+
     /**
      * Tests getErrorMessageOfInvalidExpression and getInfoMessageOfValidExpression.
      */
@@ -0,0 +1,151 @@
+package com.giffing.spel.validator.core;
+
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MehrfachKlasse;
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.core.example2.Doppelklasse;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelWatcherTest {
+
+    @TempDir
+    Path classesDirectory;
+
+    private final BlockingQueue<SpelWatcher.Update> updates = new LinkedBlockingQueue<>();
+
+    private final SpelConfiguration configuration = SpelConfiguration.builder()
+            .basePackage("com.giffing.spel.validator.core")
+            .annotation(AnnotationToScan.of(MeineAnnotation.class))
+            .build();
+
+    private final SpelRuleSet ruleSet = SpelRuleSet.builder().allValid().build();
+
+    private SpelWatcher watcher;
+
+    @BeforeEach
+    void setup() throws IOException {
+        copyClassFile(Doppelklasse.class);
+        watcher = new SpelWatcher(new SpelScanner(new SpelExpressionParser()), configuration, classesDirectory, ruleSet,
+                updates::add);
+    }
+
+    @Test
+    void refreshesOnlyChangedClassFiles() throws IOException {
+        var initial = watcher.refreshAll();
+        assertThat(initial.getChangedClasses()).containsExactly(Doppelklasse.class.getName());
+        assertThat(initial.isValid()).isTrue();
+
+        var testklasse = copyClassFile(Testklasse.class);
+        var added = watcher.refresh(List.of(testklasse));
+        assertThat(added.getChangedClasses()).containsExactly(Testklasse.class.getName());
+        assertThat(added.getResults()).extracting(SpelScanResult::getClassName)
+                .containsSubsequence(Testklasse.class.getName(), Doppelklasse.class.getName());
+        assertThat(added.isValid()).isFalse();
+
+        Files.delete(testklasse);
+        var removed = watcher.refresh(List.of(testklasse));
+        assertThat(removed.getChangedClasses()).containsExactly(Testklasse.class.getName());
+        assertThat(removed.getResults()).extracting(SpelScanResult::getClassName)
+                .containsOnly(Doppelklasse.class.getName());
+        assertThat(removed.isValid()).isTrue();
+        assertThat(updates).hasSize(3);
+    }
+
+    @Test
+    void validatesChangedClassFilesWhileWatching() throws Exception {
+        try (var ignored = watcher.start()) {
+            assertThat(updates.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+            copyClassFile(Testklasse.class);
+
+            SpelWatcher.Update update;
+            do {
+                update = updates.poll(10, TimeUnit.SECONDS);
+                assertThat(update).isNotNull();
+            } while (!update.getChangedClasses().contains(Testklasse.class.getName()));
+            assertThat(update.isValid()).isFalse();
+        }
+    }
+
+    @Test
+    void ignoresInterfacesAndInnerClasses() throws IOException {
+        watcher.refreshAll();
+
+        var update = watcher.refresh(List.of(copyClassFile(Schnittstelle.class), copyClassFile(Innere.class)));
+
+        assertThat(update.getChangedClasses()).isEmpty();
+        assertThat(update.getResults()).extracting(SpelScanResult::getClassName)
+                .containsOnly(Doppelklasse.class.getName());
+    }
+
+    @Test
+    void keepsWatchingIfTheCallbackFails() throws Exception {
+        var failingWatcher = new SpelWatcher(new SpelScanner(new SpelExpressionParser()), configuration,
+                classesDirectory, ruleSet, update -> {
+            updates.add(update);
+            if (update.getChangedClasses().contains(Testklasse.class.getName())) {
+                throw new IllegalStateException("Callback fehlgeschlagen");
+            }
+        });
+        try (var ignored = failingWatcher.start()) {
+            assertThat(updates.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+            copyClassFile(Testklasse.class);
+            awaitUpdateOf(Testklasse.class);
+            copyClassFile(MehrfachKlasse.class);
+            var update = awaitUpdateOf(MehrfachKlasse.class);
+
+            assertThat(update.getResults()).extracting(SpelScanResult::getClassName)
+                    .contains(Testklasse.class.getName(), MehrfachKlasse.class.getName());
+        }
+    }
+
+    private SpelWatcher.Update awaitUpdateOf(Class<?> clazz) throws InterruptedException {
+        SpelWatcher.Update update;
+        do {
+            update = updates.poll(10, TimeUnit.SECONDS);
+            assertThat(update).isNotNull();
+        } while (!update.getChangedClasses().contains(clazz.getName()));
+        return update;
+    }
+
+    private Path copyClassFile(Class<?> clazz) throws IOException {
+        var classFile = clazz.getName().replace('.', '/') + ".class";
+        var target = classesDirectory.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (var in = clazz.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    interface Schnittstelle {
+
+        @MeineAnnotation("hasRole('A'")
+        void pruefe();
+    }
+
+    class Innere {
+
+        @MeineAnnotation("hasRole('A'")
+        void pruefe() {
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.giffing.spel.validator.core.example1;
+
+import java.lang.annotation.*;
+
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MehrfachAnnotation {
+
+    String value() default "";
+
+    String condition() default "";
+
+}
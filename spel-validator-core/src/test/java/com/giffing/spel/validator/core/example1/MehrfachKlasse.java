@@ -0,0 +1,11 @@
+package com.giffing.spel.validator.core.example1;
+
+@MehrfachAnnotation(value = "hasRole('mehrfach')", condition = "true")
+public class MehrfachKlasse {
+
+    @MeineAnnotation("hasRole('meine')")
+    @MehrfachAnnotation(value = "hasRole('method')", condition = "#id > 0")
+    public void method(Long id) {
+    }
+
+}
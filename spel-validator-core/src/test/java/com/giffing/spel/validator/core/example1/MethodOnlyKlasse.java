@@ -0,0 +1,12 @@
+package com.giffing.spel.validator.core.example1;
+
+public class MethodOnlyKlasse {
+
+    @MeineAnnotation("hasRole('method_only')")
+    public void method_only() {
+    }
+
+    public void method_without_annotation() {
+    }
+
+}
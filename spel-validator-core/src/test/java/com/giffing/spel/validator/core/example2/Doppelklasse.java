@@ -0,0 +1,15 @@
+package com.giffing.spel.validator.core.example2;
+
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+
+public class Doppelklasse {
+
+    @MeineAnnotation("hasRole('B')")
+    public void lesen() {
+    }
+
+    @MeineAnnotation("hasRole('B')")
+    public void schreiben() {
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.giffing.spel.validator.core.listener;
+
+import com.giffing.spel.validator.core.SpelExpressionCache;
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+import com.giffing.spel.validator.core.example1.Testklasse;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanStatisticsTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void collectsTheEventsOfAScan() {
+        var statistics = new ScanStatistics();
+        var results = new SpelScanner(new SpelExpressionParser(new SpelExpressionCache(100)))
+                .scan(config(statistics).build());
+
+        var classes = results.stream().map(SpelScanResult::getClassName).distinct().count();
+        assertThat(statistics.getCandidates()).isEqualTo(classes);
+        assertThat(statistics.getScannedClasses()).isEqualTo(classes);
+        assertThat(statistics.getCachedClasses()).isZero();
+        assertThat(statistics.getExpressions()).isEqualTo(results.size());
+        var valid = results.stream().filter(result -> result.getStatus() == SpelScanResult.Status.VALID).count();
+        assertThat(statistics.getParsedExpressions() + statistics.getCachedExpressions()).isEqualTo(valid);
+        assertThat(statistics.getAstNodes()).isGreaterThanOrEqualTo(statistics.getParsedExpressions());
+        assertThat(statistics.getSlowestClasses()).containsKey(Testklasse.class.getName());
+        assertThat(statistics.getSlowestPackages()).containsOnlyKeys(Testklasse.class.getPackageName());
+        assertThat(statistics.getSummary()).contains("Candidates:  %d found".formatted(classes), Testklasse.class.getName());
+    }
+
+    @Test
+    void reportsClassesTakenFromTheScanCache() {
+        var scanner = new SpelScanner(new SpelExpressionParser());
+        scanner.scan(config(ScanListener.NONE).cacheDirectory(cacheDirectory).build());
+
+        var statistics = new ScanStatistics();
+        var results = scanner.scan(config(statistics).cacheDirectory(cacheDirectory).build());
+
+        assertThat(statistics.getScannedClasses()).isZero();
+        assertThat(statistics.getCachedClasses()).isEqualTo(results.stream().map(SpelScanResult::getClassName).distinct().count());
+        assertThat(statistics.getParsedExpressions()).isZero();
+        assertThat(statistics.getExpressions()).isEqualTo(results.size());
+    }
+
+    @Test
+    void notifiesAllListeners() {
+        var first = new ScanStatistics();
+        var second = new ScanStatistics();
+        new SpelScanner(new SpelExpressionParser())
+                .scan(config(first).listener(second).extractionMode(ExtractionMode.BYTECODE).build());
+
+        assertThat(first.getExpressions()).isPositive().isEqualTo(second.getExpressions());
+        assertThat(first.getParsedExpressions()).isEqualTo(second.getParsedExpressions());
+    }
+
+    private static SpelConfiguration.SpelConfigurationBuilder config(ScanListener listener) {
+        return SpelConfiguration.builder()
+                .basePackage(Testklasse.class.getPackageName())
+                .annotation(AnnotationToScan.of(MeineAnnotation.class))
+                .listener(listener);
+    }
+}
@@ -0,0 +1,65 @@
+package com.giffing.spel.validator.core.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelResultStoreTest {
+
+    @Test
+    void restoresTheStoredResults() {
+        var valid = SpelScanResult.valid("com.example.Konto", "sperren", "hasRole('ADMIN') and @sicherheit.pruefe(#id)",
+                new ExpressionResult()
+                        .addBeanReference("sicherheit")
+                        .addMethodReference(new SpelMethod("hasRole", List.of(new SpelMethodParam("'ADMIN'", "ADMIN"))))
+                        .addMethodReference(new SpelMethod("pruefe", List.of(new SpelMethodParam("#id", null)))));
+        var invalid = SpelScanResult.invalid("com.example.Konto", null, "hasRole('ADMIN'))", "Unexpected token");
+
+        var store = SpelResultStore.of(List.of(valid, invalid));
+
+        assertThat(store.size()).isEqualTo(2);
+        var restored = store.asList();
+        assertThat(restored.get(0)).usingRecursiveComparison().isEqualTo(valid);
+        assertThat(restored.get(1)).usingRecursiveComparison().isEqualTo(invalid);
+        assertThat(store.getMethod(1)).isNull();
+        assertThat(store.anyMatchStatus(SpelScanResult.Status.INVALID)).isTrue();
+        assertThat(store.allMatchStatus(SpelScanResult.Status.VALID)).isFalse();
+    }
+
+    @Test
+    void restoresTheSitesOfDeduplicatedResults() {
+        var deduplicated = new SpelScanResult(SpelScanResult.Status.VALID, null, "com.example.Konto", "sperren",
+                "hasRole('ADMIN')", null, new ExpressionResult(), List.of(
+                new SpelScanResult.Site("com.example.Konto", "sperren"),
+                new SpelScanResult.Site("com.example.Depot", null)));
+
+        var store = SpelResultStore.of(List.of(SpelScanResult.valid("com.example.Depot", "x", "true", new ExpressionResult()), deduplicated));
+
+        assertThat(store.get(0).getSites()).containsExactly(new SpelScanResult.Site("com.example.Depot", "x"));
+        assertThat(store.get(1).getSites()).isEqualTo(deduplicated.getSites());
+        assertThat(store.get(1).getLocation()).isEqualTo("Konto(sperren), Depot");
+    }
+
+    @Test
+    void internsRepeatedStringsAndMethodReferences() {
+        var store = new SpelResultStore();
+        for (int i = 0; i < 1000; i++) {
+            store.add(SpelScanResult.valid(new String("com.example.Konto"), "methode" + (i % 10), new String("hasRole('ADMIN')"),
+                    new ExpressionResult().addMethodReference(
+                            new SpelMethod(new String("hasRole"), List.of(new SpelMethodParam(new String("'ADMIN'")))))));
+        }
+
+        assertThat(store.size()).isEqualTo(1000);
+        assertThat(store.getMethodReferenceCount()).isEqualTo(1);
+        // class name, 10 method names, expression, method name, parameter and literal
+        assertThat(store.getStringCount()).isEqualTo(15);
+        assertThat(store.get(0).getClassName()).isSameAs(store.get(999).getClassName());
+        var methodId = store.getMethodIds(500)[0];
+        assertThat(store.getMethodReference(methodId).getName()).isEqualTo("hasRole");
+        assertThat(store.get(1).getExpressionResult().getMethodReferences()).isEqualTo(
+                Set.of(new SpelMethod("hasRole", List.of(new SpelMethodParam("'ADMIN'")))));
+    }
+}
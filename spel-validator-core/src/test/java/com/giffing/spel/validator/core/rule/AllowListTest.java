@@ -0,0 +1,42 @@
+package com.giffing.spel.validator.core.rule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllowListTest {
+
+    @Test
+    void matchesExactValues() {
+        var allowList = AllowList.of(List.of("ROLE_ADMIN", "ROLE_USER"));
+        assertThat(allowList.matches("ROLE_ADMIN")).isTrue();
+        assertThat(allowList.matches("role_admin")).isFalse();
+        assertThat(allowList.matches("ROLE_ADMIN_2")).isFalse();
+        assertThat(allowList.matches(null)).isFalse();
+    }
+
+    @Test
+    void matchesValuesIgnoringCase() {
+        var allowList = AllowList.of(List.of("ROLE_ADMIN"), AllowList.MatchMode.CASE_INSENSITIVE);
+        assertThat(allowList.matches("role_Admin")).isTrue();
+        assertThat(allowList.matches("role_user")).isFalse();
+    }
+
+    @Test
+    void matchesPrefixes() {
+        var allowList = AllowList.of(List.of("ROLE_", "SCOPE_read"), AllowList.MatchMode.PREFIX);
+        assertThat(allowList.matches("ROLE_ADMIN")).isTrue();
+        assertThat(allowList.matches("ROLE_")).isTrue();
+        assertThat(allowList.matches("SCOPE_read:all")).isTrue();
+        assertThat(allowList.matches("SCOPE_write")).isFalse();
+        assertThat(allowList.matches("ROLE")).isFalse();
+    }
+
+    @Test
+    void keepsOriginalValuesForMessages() {
+        var allowList = AllowList.of(List.of("B", "A"), AllowList.MatchMode.CASE_INSENSITIVE);
+        assertThat(allowList).hasToString("[B, A]");
+    }
+}
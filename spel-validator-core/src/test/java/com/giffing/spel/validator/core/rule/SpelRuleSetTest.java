@@ -0,0 +1,110 @@
+package com.giffing.spel.validator.core.rule;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.result.SpelResultStore;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelRuleSetTest {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+
+    @Test
+    void evaluatesAllRulesInOnePass() {
+        var results = List.of(
+                scanResult("correct", "hasRole('ROLE_ADMIN')"),
+                scanResult("unknownBean", "@unknownBean.check() and hasRole('ROLE_USER')"),
+                scanResult("unknownRole", "hasRole('ROLE_GUEST') or hasAuthority('READ')"),
+                SpelScanResult.invalid(SpelRuleSetTest.class, "invalid", "hasRole('C'))", "invalid"));
+
+        var validationResults = SpelRuleSet.builder()
+                .usesOnlyBeans(List.of("mySecurityBean"))
+                .usesOnlyMethods(List.of("hasRole", "check"))
+                .verifyMethodParameter("hasRole", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .verifyMethodParameter("hasAuthority", List.of("READ"))
+                .build()
+                .validate(results);
+
+        assertThat(validationResults).extracting(ValidationResult::getStatus).containsExactly(
+                ValidationResult.ValidationStatus.ERROR,
+                ValidationResult.ValidationStatus.ERROR,
+                ValidationResult.ValidationStatus.ERROR,
+                ValidationResult.ValidationStatus.OK);
+        assertThat(validationResults.get(0).getItems()).extracting(ValidationItem::getMessage)
+                .containsExactly("SpelRuleSetTest(unknownBean) - '[unknownBean]'");
+        assertThat(validationResults.get(1).getItems()).extracting(ValidationItem::getMessage)
+                .containsExactly("SpelRuleSetTest(unknownRole) - '[hasAuthority]'");
+        assertThat(validationResults.get(2).getItems()).extracting(ValidationItem::getMessage)
+                .containsExactly("SpelRuleSetTest(unknownRole) - Method 'hasRole' uses not allowed parameter value ''ROLE_GUEST''");
+    }
+
+    @Test
+    void evaluatesRulesOnTheColumnsOfTheStore() {
+        var results = List.of(
+                scanResult("correct", "hasRole('ROLE_ADMIN')"),
+                scanResult("unknownBean", "@unknownBean.check() and hasRole('ROLE_USER')"),
+                scanResult("unknownRole", "hasRole('ROLE_GUEST') or hasAuthority('READ')"),
+                SpelScanResult.invalid(SpelRuleSetTest.class, "invalid", "hasRole('C'))", "invalid"));
+        var ruleSet = SpelRuleSet.builder()
+                .allValid()
+                .usesOnlyBeans(List.of("mySecurityBean"))
+                .usesOnlyMethods(List.of("hasRole", "check"))
+                .verifyMethodParameter("hasRole", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .build();
+
+        assertThat(ruleSet.validate(SpelResultStore.of(results)))
+                .usingRecursiveComparison()
+                .isEqualTo(ruleSet.validate(results));
+    }
+
+    @Test
+    void reportsViolationsWithTheirScanResult() {
+        var unknownBean = scanResult("unknownBean", "@unknownBean.check() and hasRole('ROLE_USER')");
+        var unknownRole = scanResult("unknownRole", "hasRole('ROLE_GUEST')");
+        List<String> violations = new ArrayList<>();
+
+        SpelRuleSet.builder()
+                .usesOnlyBeans(List.of("mySecurityBean"))
+                .verifyMethodParameter("hasRole", List.of("ROLE_USER"))
+                .build()
+                .validate(List.of(unknownBean, unknownRole),
+                        (rule, result, item) -> violations.add(rule.getId() + ":" + result.getMethod()));
+
+        assertThat(violations).containsExactly("uses-only-beans:unknownBean", "method-parameter:unknownRole");
+    }
+
+    @Test
+    void supportsCustomRules() {
+        SpelRule noOrRule = new SpelRule() {
+            @Override
+            public void check(SpelScanResult result, List<ValidationItem> violations) {
+                if (result.getExpression().contains(" or ")) {
+                    violations.add(ValidationItem.of(result.getLocation()));
+                }
+            }
+
+            @Override
+            public ValidationResult createResult(List<ValidationItem> violations) {
+                return new ValidationResult(violations.isEmpty()
+                        ? ValidationResult.ValidationStatus.OK
+                        : ValidationResult.ValidationStatus.ERROR, "No 'or' allowed", violations);
+            }
+        };
+        var validationResults = SpelRuleSet.builder()
+                .rule(noOrRule)
+                .build()
+                .validate(List.of(scanResult("or", "hasRole('A') or hasRole('B')")));
+        assertThat(validationResults.get(0).getStatus()).isEqualTo(ValidationResult.ValidationStatus.ERROR);
+    }
+
+    private SpelScanResult scanResult(String method, String expression) {
+        return SpelScanResult.valid(SpelRuleSetTest.class, method, expression, parser.parseExpression(expression));
+    }
+}
@@ -0,0 +1,10 @@
+package com.giffing.spel.validator.vererbung;
+
+import com.giffing.spel.validator.core.example1.MeineAnnotation;
+
+public class Basisklasse {
+
+    @MeineAnnotation("hasRole('basis')")
+    public void pruefe() {
+    }
+}
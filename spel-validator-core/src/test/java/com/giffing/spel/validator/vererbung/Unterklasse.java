@@ -0,0 +1,8 @@
+package com.giffing.spel.validator.vererbung;
+
+public class Unterklasse extends Basisklasse {
+
+    @Override
+    public void pruefe() {
+    }
+}
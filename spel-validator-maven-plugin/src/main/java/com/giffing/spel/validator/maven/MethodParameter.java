@@ -0,0 +1,23 @@
+package com.giffing.spel.validator.maven;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The allowed parameters of a method used within SpEL expressions, e.g.
+ * <pre>{@code
+ * <methodParameter>
+ *     <method>hasRole</method>
+ *     <values>
+ *         <value>ROLE_ADMIN</value>
+ *     </values>
+ * </methodParameter>
+ * }</pre>
+ */
+@Data
+public class MethodParameter {
+    private String method;
+    private List<String> values = new ArrayList<>();
+}
@@ -0,0 +1,57 @@
+package com.giffing.spel.validator.maven;
+
+import com.giffing.spel.validator.core.SpelClassFiles;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans the classes of the build output and validates them against the rules of the plugin.
+ */
+@RequiredArgsConstructor
+class SpelBuildValidation {
+
+    private final SpelScanner spelScanner;
+
+    private final Path classesDirectory;
+
+    /**
+     * Scans the classes of the configured packages in the classes directory, classes of the same packages in the
+     * dependencies are ignored.
+     * <p>
+     * In {@code BYTECODE} mode only the class files of the classes directory are read, the classpath isn't traversed.
+     * The other extraction modes need the loaded classes or the index of the class loader, they scan the configured
+     * packages and drop the results of classes outside the classes directory.
+     */
+    List<SpelScanResult> scan(SpelConfiguration configuration) {
+        if (configuration.getExtractionMode() == ExtractionMode.BYTECODE) {
+            return spelScanner.scanClassesDirectory(configuration, classesDirectory);
+        }
+        return spelScanner.scan(configuration)
+                .stream()
+                .filter(result -> Files.exists(SpelClassFiles.toClassFile(classesDirectory, result.getClassName())))
+                .toList();
+    }
+
+    /**
+     * @return the messages of all violations, empty if all rules are satisfied
+     */
+    static List<String> validate(List<SpelScanResult> results, SpelRuleSet ruleSet) {
+        List<String> violations = new ArrayList<>();
+        for (var validationResult : ruleSet.validate(results)) {
+            if (validationResult.getStatus() == ValidationResult.ValidationStatus.ERROR) {
+                validationResult.getItems().forEach(item -> violations.add(item.getMessage()));
+            }
+        }
+        return violations;
+    }
+}
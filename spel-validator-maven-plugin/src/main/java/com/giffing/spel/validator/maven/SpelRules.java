@@ -0,0 +1,136 @@
+package com.giffing.spel.validator.maven;
+
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The validation rules of the plugin. The rules can be declared in the POM and in a rules file, the allowed values
+ * of both are combined.
+ * <p>
+ * The rules file is a properties file with comma separated values:
+ * <pre>
+ * allValid=true
+ * matchMode=EXACT
+ * beans=mySecurityBean
+ * methods=hasRole,hasAnyRole
+ * methodParameter.hasRole=ROLE_ADMIN,ROLE_USER
+ * </pre>
+ */
+@Getter
+public class SpelRules {
+
+    private static final String METHOD_PARAMETER_PREFIX = "methodParameter.";
+
+    private boolean allValid;
+
+    private AllowList.MatchMode matchMode = AllowList.MatchMode.EXACT;
+
+    /**
+     * The allowed beans or null if the beans aren't restricted.
+     */
+    private List<String> beans;
+
+    /**
+     * The allowed methods or null if the methods aren't restricted.
+     */
+    private List<String> methods;
+
+    private final Map<String, List<String>> methodParameters = new LinkedHashMap<>();
+
+    public SpelRules allValid(boolean allValid) {
+        this.allValid |= allValid;
+        return this;
+    }
+
+    public SpelRules matchMode(AllowList.MatchMode matchMode) {
+        this.matchMode = matchMode;
+        return this;
+    }
+
+    public SpelRules allowBeans(Collection<String> allowedBeans) {
+        beans = addAll(beans, allowedBeans);
+        return this;
+    }
+
+    public SpelRules allowMethods(Collection<String> allowedMethods) {
+        methods = addAll(methods, allowedMethods);
+        return this;
+    }
+
+    public SpelRules allowMethodParameters(String method, Collection<String> allowedParams) {
+        methodParameters.put(method, addAll(methodParameters.get(method), allowedParams));
+        return this;
+    }
+
+    /**
+     * Adds the rules of the given properties file.
+     *
+     * @param rulesFile the rules file
+     * @return this
+     * @throws IOException if the file can't be read
+     */
+    public SpelRules load(Path rulesFile) throws IOException {
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(rulesFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (var key : properties.stringPropertyNames()) {
+            var value = properties.getProperty(key).trim();
+            switch (key) {
+                case "allValid" -> allValid(Boolean.parseBoolean(value));
+                case "matchMode" -> matchMode(AllowList.MatchMode.valueOf(value));
+                case "beans" -> allowBeans(split(value));
+                case "methods" -> allowMethods(split(value));
+                default -> {
+                    if (!key.startsWith(METHOD_PARAMETER_PREFIX)) {
+                        throw new IllegalArgumentException("Unknown rule '%s' in %s".formatted(key, rulesFile));
+                    }
+                    allowMethodParameters(key.substring(METHOD_PARAMETER_PREFIX.length()), split(value));
+                }
+            }
+        }
+        return this;
+    }
+
+    public SpelRuleSet toRuleSet() {
+        var builder = SpelRuleSet.builder().matchMode(matchMode);
+        if (allValid) {
+            builder.allValid();
+        }
+        if (beans != null) {
+            builder.usesOnlyBeans(beans);
+        }
+        if (methods != null) {
+            builder.usesOnlyMethods(methods);
+        }
+        methodParameters.forEach(builder::verifyMethodParameter);
+        return builder.build();
+    }
+
+    private static List<String> addAll(List<String> values, Collection<String> valuesToAdd) {
+        var result = values == null ? new ArrayList<String>() : values;
+        valuesToAdd.stream().filter(value -> !result.contains(value)).forEach(result::add);
+        return result;
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,221 @@
+package com.giffing.spel.validator.maven;
+
+import com.giffing.spel.validator.core.SpelExpressionCache;
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.rule.AllowList;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Validates the SpEL expressions of the compiled classes without starting a test JVM or a Spring context.
+ * <p>
+ * The class files are read in {@link ExtractionMode#BYTECODE bytecode mode} by default, the classes are scanned in
+ * parallel and the scan results of unchanged classes are cached between builds. The build fails if a rule is
+ * violated.
+ */
+@Mojo(name = "validate", defaultPhase = LifecyclePhase.VERIFY,
+        requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class ValidateMojo extends AbstractMojo {
+
+    private static final List<String> SECURITY_ANNOTATIONS = List.of(
+            "org.springframework.security.access.prepost.PreAuthorize",
+            "org.springframework.security.access.prepost.PostAuthorize",
+            "org.springframework.security.access.prepost.PostFilter",
+            "org.springframework.security.access.prepost.PreFilter");
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(property = "spel-validator.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * The package which is scanned for SpEL expressions.
+     */
+    @Parameter(property = "spel-validator.basePackage", defaultValue = "${project.groupId}")
+    private String basePackage;
+
+    /**
+     * Scans the Spring Security annotations ({@code @PreAuthorize} ...) if they are on the classpath.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean registerSecurityDefaults;
+
+    /**
+     * The class names of additional annotations containing SpEL expressions in the attribute {@code value}.
+     */
+    @Parameter
+    private List<String> annotations = new ArrayList<>();
+
+    @Parameter(defaultValue = "true")
+    private boolean allValid;
+
+    /**
+     * The beans which may be referenced. Beans aren't restricted if neither this parameter nor the rules file
+     * defines allowed beans.
+     */
+    @Parameter
+    private List<String> allowedBeans;
+
+    /**
+     * The methods which may be called. Methods aren't restricted if neither this parameter nor the rules file defines
+     * allowed methods.
+     */
+    @Parameter
+    private List<String> allowedMethods;
+
+    @Parameter
+    private List<MethodParameter> methodParameters = new ArrayList<>();
+
+    @Parameter(defaultValue = "EXACT")
+    private AllowList.MatchMode matchMode;
+
+    /**
+     * A properties file with additional rules, see {@link SpelRules}.
+     */
+    @Parameter(property = "spel-validator.rulesFile")
+    private File rulesFile;
+
+    @Parameter(defaultValue = "BYTECODE")
+    private ExtractionMode extractionMode;
+
+    /**
+     * The number of threads which scan the classes. Defaults to the number of available processors, 1 scans the
+     * classes sequentially.
+     */
+    @Parameter(property = "spel-validator.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * The number of parsed expressions to cache, repeated expressions are parsed only once.
+     */
+    @Parameter(property = "spel-validator.expressionCacheSize", defaultValue = "" + SpelExpressionCache.DEFAULT_MAXIMUM_SIZE)
+    private int expressionCacheSize;
+
+    /**
+     * The directory of the scan cache, the cache is disabled if it isn't set.
+     */
+    @Parameter(property = "spel-validator.cacheDirectory", defaultValue = "${project.build.directory}/spel-validator-cache")
+    private File cacheDirectory;
+
+    @Parameter(property = "spel-validator.failOnViolation", defaultValue = "true")
+    private boolean failOnViolation;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("SpEL validation is skipped");
+            return;
+        }
+        if (!classesDirectory.isDirectory()) {
+            getLog().info("SpEL validation is skipped, no classes found in " + classesDirectory);
+            return;
+        }
+        var rules = createRules();
+        var start = System.nanoTime();
+        var threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = threadCount > 1 ? Executors.newFixedThreadPool(threadCount) : null;
+        try (var classLoader = createClassLoader()) {
+            var configuration = SpelConfiguration.builder()
+                    .basePackage(basePackage)
+                    .annotations(getAnnotations(classLoader))
+                    .extractionMode(extractionMode)
+                    .executor(executor)
+                    .cacheDirectory(cacheDirectory != null ? cacheDirectory.toPath() : null)
+                    .classLoader(classLoader)
+                    .build();
+            var spelScanner = new SpelScanner(new SpelExpressionParser(new SpelExpressionCache(expressionCacheSize)));
+            var results = new SpelBuildValidation(spelScanner, classesDirectory.toPath()).scan(configuration);
+            var violations = SpelBuildValidation.validate(results, rules.toRuleSet());
+            getLog().info("%d SpEL expressions validated in %d ms".formatted(results.size(), (System.nanoTime() - start) / 1_000_000));
+            if (!violations.isEmpty()) {
+                violations.forEach(violation -> getLog().error(violation));
+                var message = "%d SpEL rule violations found".formatted(violations.size());
+                if (failOnViolation) {
+                    throw new MojoFailureException(message);
+                }
+                getLog().warn(message);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("SpEL validation failed: " + e.getMessage(), e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private SpelRules createRules() throws MojoExecutionException {
+        var rules = new SpelRules()
+                .allValid(allValid)
+                .matchMode(matchMode);
+        if (allowedBeans != null) {
+            rules.allowBeans(allowedBeans);
+        }
+        if (allowedMethods != null) {
+            rules.allowMethods(allowedMethods);
+        }
+        methodParameters.forEach(parameter -> rules.allowMethodParameters(parameter.getMethod(), parameter.getValues()));
+        if (rulesFile != null) {
+            try {
+                rules.load(rulesFile.toPath());
+            } catch (IOException | IllegalArgumentException e) {
+                throw new MojoExecutionException("Rules file %s couldn't be read: %s".formatted(rulesFile, e.getMessage()), e);
+            }
+        }
+        return rules;
+    }
+
+    private List<AnnotationToScan> getAnnotations(ClassLoader classLoader) {
+        List<AnnotationToScan> annotationsToScan = new ArrayList<>();
+        if (registerSecurityDefaults) {
+            SECURITY_ANNOTATIONS.stream()
+                    .filter(annotation -> classLoader.getResource(annotation.replace('.', '/') + ".class") != null)
+                    .map(AnnotationToScan::new)
+                    .forEach(annotationsToScan::add);
+        }
+        annotations.stream().map(AnnotationToScan::new).forEach(annotationsToScan::add);
+        return annotationsToScan;
+    }
+
+    /**
+     * Creates a class loader of the classes directory and the compile classpath. The classes of the plugin (e.g.
+     * Spring) are shared, so the annotations are read with the same Spring version as the validator uses.
+     */
+    private URLClassLoader createClassLoader() throws MojoExecutionException {
+        try {
+            List<URL> urls = new ArrayList<>();
+            urls.add(classesDirectory.toURI().toURL());
+            for (var element : project.getCompileClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+            return new URLClassLoader(urls.toArray(URL[]::new), getClass().getClassLoader());
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Classpath couldn't be resolved: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.giffing.spel.validator.maven;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.maven.fixture.Dienst;
+import com.giffing.spel.validator.maven.fixture.Pruefung;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpelBuildValidationTest {
+
+    @Test
+    void reportsViolationsOfClassesDirectory() throws Exception {
+        var classesDirectory = Path.of(Dienst.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        var validation = new SpelBuildValidation(new SpelScanner(new SpelExpressionParser()), classesDirectory);
+        var configuration = SpelConfiguration.builder()
+                .basePackage(Dienst.class.getPackageName())
+                .annotation(AnnotationToScan.of(Pruefung.class))
+                .extractionMode(ExtractionMode.BYTECODE)
+                .build();
+
+        var results = validation.scan(configuration);
+        assertThat(results).extracting(SpelScanResult::getMethod).containsExactly("admin", "invalid", "user");
+
+        var rules = new SpelRules()
+                .allowBeans(List.of("securityBean"))
+                .allowMethods(List.of("hasRole", "check"))
+                .allowMethodParameters("hasRole", List.of("ADMIN"));
+        assertThat(SpelBuildValidation.validate(results, rules.toRuleSet())).containsExactly(
+                "Dienst(user) - Method 'hasRole' uses not allowed parameter value ''USER''");
+
+        assertThat(SpelBuildValidation.validate(results, rules.allValid(true).toRuleSet()))
+                .hasSize(2)
+                .first().asString().startsWith("Dienst(invalid) - ");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExtractionMode.class, names = {"REFLECTION", "BYTECODE"})
+    void ignoresClassesOutsideOfClassesDirectory(ExtractionMode extractionMode, @TempDir Path emptyDirectory) {
+        var validation = new SpelBuildValidation(new SpelScanner(new SpelExpressionParser()), emptyDirectory);
+        var configuration = SpelConfiguration.builder()
+                .basePackage(Dienst.class.getPackageName())
+                .annotation(AnnotationToScan.of(Pruefung.class))
+                .extractionMode(extractionMode)
+                .build();
+
+        assertThat(validation.scan(configuration)).isEmpty();
+    }
+
+    @Test
+    void readsOnlyClassFilesOfClassesDirectory(@TempDir Path classesDirectory) throws Exception {
+        var classFile = Dienst.class.getName().replace('.', '/') + ".class";
+        var target = classesDirectory.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (var in = Dienst.class.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(in, target);
+        }
+        var validation = new SpelBuildValidation(new SpelScanner(new SpelExpressionParser()), classesDirectory);
+        var configuration = SpelConfiguration.builder()
+                .basePackage(Dienst.class.getPackageName())
+                .annotation(AnnotationToScan.of(Pruefung.class))
+                .extractionMode(ExtractionMode.BYTECODE)
+                .executor(ForkJoinPool.commonPool())
+                .build();
+
+        assertThat(validation.scan(configuration)).extracting(SpelScanResult::getClassName, SpelScanResult::getMethod)
+                .containsExactly(
+                        tuple(Dienst.class.getName(), "admin"),
+                        tuple(Dienst.class.getName(), "invalid"),
+                        tuple(Dienst.class.getName(), "user"));
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.giffing.spel.validator.maven;
+
+import com.giffing.spel.validator.core.rule.AllowList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpelRulesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void combinesRulesOfPomAndRulesFile() throws IOException {
+        var rulesFile = Files.writeString(directory.resolve("spel-rules.properties"), """
+                allValid=false
+                matchMode=CASE_INSENSITIVE
+                beans=securityBean
+                methods=hasRole, check
+                methodParameter.hasRole=USER
+                """);
+
+        var rules = new SpelRules()
+                .allValid(true)
+                .allowMethods(List.of("hasRole"))
+                .allowMethodParameters("hasRole", List.of("ADMIN"))
+                .load(rulesFile);
+
+        assertThat(rules.isAllValid()).isTrue();
+        assertThat(rules.getMatchMode()).isEqualTo(AllowList.MatchMode.CASE_INSENSITIVE);
+        assertThat(rules.getBeans()).containsExactly("securityBean");
+        assertThat(rules.getMethods()).containsExactly("hasRole", "check");
+        assertThat(rules.getMethodParameters()).containsEntry("hasRole", List.of("ADMIN", "USER"));
+        assertThat(rules.toRuleSet().getRules()).hasSize(4);
+    }
+
+    @Test
+    void rejectsUnknownRules() throws IOException {
+        var rulesFile = Files.writeString(directory.resolve("spel-rules.properties"), "bean=securityBean");
+
+        assertThatThrownBy(() -> new SpelRules().load(rulesFile))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown rule 'bean'");
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.giffing.spel.validator.maven.fixture;
+
+public class Dienst {
+
+    @Pruefung("hasRole('ADMIN')")
+    public void admin() {
+    }
+
+    @Pruefung("hasRole('USER') and @securityBean.check()")
+    public void user() {
+    }
+
+    @Pruefung("hasRole('USER'")
+    public void invalid() {
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.giffing.spel.validator.micrometer;
+
+import com.giffing.spel.validator.core.listener.ScanListener;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes the events of a scan as Micrometer meters.
+ * <p>
+ * The meters are registered once, so the listener can be used for many scans, e.g. by registering it in the
+ * {@link com.giffing.spel.validator.core.config.SpelConfiguration} of every scan:
+ * <pre>{@code
+ * SpelConfiguration.builder()
+ *     .basePackage("com.example")
+ *     .listener(new MicrometerScanListener(meterRegistry))
+ *     ...
+ * }</pre>
+ */
+public class MicrometerScanListener implements ScanListener {
+
+    private final Timer discovery;
+
+    private final DistributionSummary candidates;
+
+    private final Timer classScan;
+
+    private final Counter classCacheHits;
+
+    private final Timer expressionParse;
+
+    private final DistributionSummary astNodes;
+
+    private final Counter expressionCacheHits;
+
+    private final Timer scan;
+
+    private final DistributionSummary expressions;
+
+    public MicrometerScanListener(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param registry the registry of the meters
+     * @param tags     the tags added to all meters, e.g. to distinguish several scans
+     */
+    public MicrometerScanListener(MeterRegistry registry, Iterable<Tag> tags) {
+        discovery = Timer.builder("spel.validator.discovery")
+                .description("Time to find the candidate classes")
+                .tags(tags)
+                .register(registry);
+        candidates = DistributionSummary.builder("spel.validator.candidates")
+                .description("Number of candidate classes per scan")
+                .tags(tags)
+                .register(registry);
+        classScan = Timer.builder("spel.validator.class.scan")
+                .description("Time to extract and parse the expressions of a class")
+                .tags(tags)
+                .register(registry);
+        classCacheHits = Counter.builder("spel.validator.class.cache.hits")
+                .description("Classes taken from the scan cache")
+                .tags(tags)
+                .register(registry);
+        expressionParse = Timer.builder("spel.validator.expression.parse")
+                .description("Time to parse an expression")
+                .tags(tags)
+                .register(registry);
+        astNodes = DistributionSummary.builder("spel.validator.expression.ast.nodes")
+                .description("Number of AST nodes of a parsed expression")
+                .tags(tags)
+                .register(registry);
+        expressionCacheHits = Counter.builder("spel.validator.expression.cache.hits")
+                .description("Expressions taken from the expression cache")
+                .tags(tags)
+                .register(registry);
+        scan = Timer.builder("spel.validator.scan")
+                .description("Total time of a scan")
+                .tags(tags)
+                .register(registry);
+        expressions = DistributionSummary.builder("spel.validator.expressions")
+                .description("Number of expressions per scan")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public void candidatesFound(String basePackage, int candidates, Duration duration) {
+        discovery.record(duration);
+        this.candidates.record(candidates);
+    }
+
+    @Override
+    public void classScanned(String className, List<SpelScanResult> results, Duration duration) {
+        classScan.record(duration);
+    }
+
+    @Override
+    public void classTakenFromCache(String className, List<SpelScanResult> results) {
+        classCacheHits.increment();
+    }
+
+    @Override
+    public void expressionParsed(String expression, int astNodes, Duration duration) {
+        expressionParse.record(duration);
+        this.astNodes.record(astNodes);
+    }
+
+    @Override
+    public void expressionTakenFromCache(String expression) {
+        expressionCacheHits.increment();
+    }
+
+    @Override
+    public void scanFinished(int expressions, Duration duration) {
+        scan.record(duration);
+        this.expressions.record(expressions);
+    }
+}
@@ -0,0 +1,50 @@
+package com.giffing.spel.validator.micrometer;
+
+import com.giffing.spel.validator.core.SpelExpressionCache;
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerScanListenerTest {
+
+    @Test
+    void recordsTheMetersOfAScan() {
+        var registry = new SimpleMeterRegistry();
+        var configuration = SpelConfiguration.builder()
+                .basePackage(MicrometerScanListenerTest.class.getPackageName())
+                .annotation(AnnotationToScan.of(PreAuthorize.class))
+                .listener(new MicrometerScanListener(registry, Tags.of("module", "test")))
+                .build();
+        var scanner = new SpelScanner(new SpelExpressionParser(new SpelExpressionCache(10)));
+
+        var results = scanner.scan(configuration);
+        scanner.scan(configuration);
+
+        assertThat(registry.get("spel.validator.scan").tag("module", "test").timer().count()).isEqualTo(2);
+        assertThat(registry.get("spel.validator.expressions").summary().totalAmount()).isEqualTo(2.0 * results.size());
+        assertThat(registry.get("spel.validator.candidates").summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("spel.validator.class.scan").timer().count()).isEqualTo(2);
+        assertThat(registry.get("spel.validator.expression.parse").timer().count()).isEqualTo(1);
+        assertThat(registry.get("spel.validator.expression.cache.hits").counter().count()).isEqualTo(3);
+        assertThat(registry.get("spel.validator.expression.ast.nodes").summary().totalAmount()).isPositive();
+        assertThat(registry.get("spel.validator.class.cache.hits").counter().count()).isZero();
+    }
+
+    static class Konto {
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void sperren() {
+        }
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void entsperren() {
+        }
+    }
+}
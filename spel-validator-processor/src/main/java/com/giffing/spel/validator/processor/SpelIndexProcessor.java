@@ -0,0 +1,260 @@
+package com.giffing.spel.validator.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Annotation processor which records the SpEL expressions of the configured annotations into the index resource
+ * {@value #INDEX_LOCATION} while the classes are compiled. The index is read by the scanner with the extraction mode
+ * {@code INDEX}, so no classpath scanning is needed at runtime.
+ * <p>
+ * The Spring Security annotations ({@code @PreAuthorize}, {@code @PostAuthorize}, {@code @PreFilter},
+ * {@code @PostFilter}) are always recorded. Additional annotations are configured with the processor option
+ * {@value #ANNOTATIONS_OPTION}, e.g. {@code -Aspel.validator.annotations=com.example.MyAnnotation}.
+ * <p>
+ * All String attributes of the annotations declared on classes and methods are recorded. Composed annotations which
+ * are meta-annotated with a configured annotation are resolved one level deep, including {@code @AliasFor}
+ * attributes. Annotations inherited from superclasses or interfaces are not recorded.
+ * <p>
+ * Each line of the index contains the tab separated fields class name, method name (empty for the class), annotation
+ * class name, attribute name and expression in UTF-8. Backslashes, tabs and line breaks within the fields are escaped.
+ * <p>
+ * Incremental compilations only process the changed sources. Like the {@code CandidateComponentsIndexer} of Spring,
+ * the index of the previous compilation is therefore merged: its lines are kept unless their class was processed
+ * again or no longer exists.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(SpelIndexProcessor.ANNOTATIONS_OPTION)
+public class SpelIndexProcessor extends AbstractProcessor {
+
+    public static final String ANNOTATIONS_OPTION = "spel.validator.annotations";
+
+    /**
+     * Must match the location read by {@code com.giffing.spel.validator.core.SpelIndex}.
+     */
+    public static final String INDEX_LOCATION = "META-INF/spel-validator/spel-index";
+
+    private static final List<String> SECURITY_ANNOTATIONS = List.of(
+            "org.springframework.security.access.prepost.PreAuthorize",
+            "org.springframework.security.access.prepost.PostAuthorize",
+            "org.springframework.security.access.prepost.PreFilter",
+            "org.springframework.security.access.prepost.PostFilter");
+
+    private static final String ALIAS_FOR = "org.springframework.core.annotation.AliasFor";
+
+    private final Set<String> annotations = new LinkedHashSet<>(SECURITY_ANNOTATIONS);
+
+    private final List<String> lines = new ArrayList<>();
+
+    /**
+     * The binary names of all types processed by this compilation, with or without expressions.
+     */
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        var option = processingEnv.getOptions().get(ANNOTATIONS_OPTION);
+        if (option != null) {
+            Arrays.stream(option.split(","))
+                    .map(String::trim)
+                    .filter(annotation -> !annotation.isEmpty())
+                    .forEach(annotations::add);
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> typeElements, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            ElementFilter.typesIn(roundEnv.getRootElements()).forEach(this::indexType);
+        }
+        return false;
+    }
+
+    private void indexType(TypeElement type) {
+        var isInnerClass = type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC);
+        var className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        processedTypes.add(className);
+        if (type.getKind().isClass() && !isInnerClass) {
+            indexElement(type, className, "");
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                indexElement(method, className, method.getSimpleName().toString());
+            }
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::indexType);
+    }
+
+    /**
+     * Records the expressions of an element. Like the merged annotations of Spring a directly declared annotation wins
+     * over a composed annotation of the same type.
+     */
+    private void indexElement(Element element, String className, String methodName) {
+        Map<String, Map<String, AnnotationValue>> found = new LinkedHashMap<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            var name = getName(mirror);
+            if (annotations.contains(name)) {
+                found.put(name, getAttributes(mirror));
+            }
+        }
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            for (AnnotationMirror meta : mirror.getAnnotationType().asElement().getAnnotationMirrors()) {
+                var metaName = getName(meta);
+                if (annotations.contains(metaName) && !found.containsKey(metaName)) {
+                    var attributes = getAttributes(meta);
+                    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).forEach((attribute, value) ->
+                            getAliasTarget(attribute, metaName).ifPresent(target -> attributes.put(target, value)));
+                    found.put(metaName, attributes);
+                }
+            }
+        }
+        found.forEach((annotation, attributes) -> attributes.forEach((attribute, value) ->
+                addExpressions(className, methodName, annotation, attribute, value.getValue())));
+    }
+
+    private void addExpressions(String className, String methodName, String annotation, String attribute, Object value) {
+        if (value instanceof String expression) {
+            lines.add(String.join("\t", escape(className), escape(methodName), escape(annotation), escape(attribute),
+                    escape(expression)));
+        } else if (value instanceof List<?> values) {
+            for (Object element : values) {
+                addExpressions(className, methodName, annotation, attribute, ((AnnotationValue) element).getValue());
+            }
+        }
+    }
+
+    private Map<String, AnnotationValue> getAttributes(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> attributes = new LinkedHashMap<>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                .forEach((attribute, value) -> attributes.put(attribute.getSimpleName().toString(), value));
+        return attributes;
+    }
+
+    /**
+     * @return the attribute of the meta-annotation which is overridden by the given attribute via {@code @AliasFor}
+     */
+    private Optional<String> getAliasTarget(ExecutableElement attribute, String metaAnnotation) {
+        for (AnnotationMirror mirror : attribute.getAnnotationMirrors()) {
+            if (!ALIAS_FOR.equals(getName(mirror))) {
+                continue;
+            }
+            String target = null;
+            String targetAnnotation = null;
+            for (var entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                var name = entry.getKey().getSimpleName().toString();
+                var value = entry.getValue().getValue();
+                if (name.equals("annotation") && value instanceof DeclaredType type) {
+                    targetAnnotation = ((TypeElement) type.asElement()).getQualifiedName().toString();
+                } else if ((name.equals("attribute") || name.equals("value")) && !value.toString().isEmpty()) {
+                    target = value.toString();
+                }
+            }
+            if (metaAnnotation.equals(targetAnnotation)) {
+                return Optional.of(target != null ? target : attribute.getSimpleName().toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void writeIndex() {
+        var previousLines = readPreviousIndex();
+        if (lines.isEmpty() && previousLines.isEmpty()) {
+            return;
+        }
+        List<String> mergedLines = new ArrayList<>();
+        for (var line : previousLines) {
+            var className = line.substring(0, line.indexOf('\t'));
+            if (!processedTypes.contains(className) && exists(className)) {
+                mergedLines.add(line);
+            }
+        }
+        mergedLines.addAll(lines);
+        try {
+            var resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (var line : mergedLines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "[SpELValidator] Index " + INDEX_LOCATION + " couldn't be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the lines of the index written by the previous compilation, empty if there is none
+     */
+    private List<String> readPreviousIndex() {
+        try {
+            var resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (var reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                return reader.lines().filter(line -> line.indexOf('\t') > 0).toList();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * @return true if the class is still part of the compilation or its output
+     */
+    private boolean exists(String className) {
+        return processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null;
+    }
+
+    private static String getName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    static String escape(String value) {
+        var escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package com.giffing.spel.validator.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelIndexProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsExpressionsOfConfiguredAnnotations() throws IOException {
+        source("example/Check.java", """
+                package example;
+                public @interface Check {
+                    String value() default "";
+                    String[] conditions() default {};
+                }
+                """);
+        source("example/Aliased.java", """
+                package example;
+                @Check
+                public @interface Aliased {
+                    @org.springframework.core.annotation.AliasFor(annotation = Check.class, attribute = "value")
+                    String expression();
+                }
+                """);
+        source("example/Service.java", """
+                package example;
+                @Check("hasRole('class')")
+                public class Service {
+                    @Check(value = "hasRole('a')", conditions = {"#id > 0", "tab\\there"})
+                    public void check(Long id) {
+                    }
+                    @Aliased(expression = "hasRole('alias')")
+                    public void aliased() {
+                    }
+                    @Check("hasRole('direct')")
+                    @Aliased(expression = "hasRole('ignored')")
+                    public void direct() {
+                    }
+                    public void none() {
+                    }
+                    public static class Nested {
+                        @Check("hasRole('nested')")
+                        public void nested() {
+                        }
+                    }
+                }
+                """);
+
+        assertThat(compile("-Aspel.validator.annotations=example.Check")).containsExactly(
+                "example.Service\t\texample.Check\tvalue\thasRole('class')",
+                "example.Service\tcheck\texample.Check\tvalue\thasRole('a')",
+                "example.Service\tcheck\texample.Check\tconditions\t#id > 0",
+                "example.Service\tcheck\texample.Check\tconditions\ttab\\there",
+                "example.Service\taliased\texample.Check\tvalue\thasRole('alias')",
+                "example.Service\tdirect\texample.Check\tvalue\thasRole('direct')",
+                "example.Service$Nested\tnested\texample.Check\tvalue\thasRole('nested')");
+    }
+
+    @Test
+    void writesNoIndexWithoutExpressions() throws IOException {
+        source("example/Plain.java", """
+                package example;
+                public class Plain {
+                }
+                """);
+
+        assertThat(compile()).isEmpty();
+    }
+
+    @Test
+    void mergesIndexOfPreviousCompilation() throws IOException {
+        source("example/Check.java", """
+                package example;
+                public @interface Check {
+                    String value() default "";
+                }
+                """);
+        source("example/Service.java", """
+                package example;
+                public class Service {
+                    @Check("hasRole('old')")
+                    public void check() {
+                    }
+                }
+                """);
+        source("example/Unchanged.java", """
+                package example;
+                public class Unchanged {
+                    @Check("hasRole('unchanged')")
+                    public void check() {
+                    }
+                }
+                """);
+        source("example/Removed.java", """
+                package example;
+                public class Removed {
+                    @Check("hasRole('removed')")
+                    public void check() {
+                    }
+                }
+                """);
+        assertThat(compileClasses()).hasSize(3);
+
+        // the second compilation only sees the changed sources, as an incremental build
+        source("example/Service.java", """
+                package example;
+                public class Service {
+                    @Check("hasRole('new')")
+                    public void check() {
+                    }
+                }
+                """);
+        Files.delete(directory.resolve("src/example/Check.java"));
+        Files.delete(directory.resolve("src/example/Unchanged.java"));
+        Files.delete(directory.resolve("src/example/Removed.java"));
+        Files.delete(directory.resolve("classes/example/Removed.class"));
+
+        assertThat(compileClasses()).containsExactly(
+                "example.Unchanged\tcheck\texample.Check\tvalue\thasRole('unchanged')",
+                "example.Service\tcheck\texample.Check\tvalue\thasRole('new')");
+    }
+
+    private void source(String path, String content) throws IOException {
+        var file = directory.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private List<String> compile(String... options) throws IOException {
+        var arguments = new ArrayList<>(List.of("-proc:only", "-classpath", System.getProperty("java.class.path")));
+        arguments.addAll(List.of(options));
+        return compile(arguments);
+    }
+
+    /**
+     * Compiles the classes with the output directory on the classpath, as an incremental build of Maven.
+     */
+    private List<String> compileClasses() throws IOException {
+        return compile(List.of("-Aspel.validator.annotations=example.Check", "-classpath",
+                System.getProperty("java.class.path") + File.pathSeparator + directory.resolve("classes")));
+    }
+
+    private List<String> compile(List<String> options) throws IOException {
+        var output = Files.createDirectories(directory.resolve("classes"));
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        try (var fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+             var sources = Files.walk(directory.resolve("src"))) {
+            var arguments = new ArrayList<>(List.of("-d", output.toString()));
+            arguments.addAll(options);
+            var task = compiler.getTask(null, fileManager, null, arguments, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources.filter(Files::isRegularFile).toList()));
+            task.setProcessors(List.of(new SpelIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+        var index = output.resolve(SpelIndexProcessor.INDEX_LOCATION);
+        return Files.exists(index) ? Files.readAllLines(index, StandardCharsets.UTF_8) : List.of();
+    }
+}
@@ -0,0 +1,130 @@
+package com.giffing.spel.validator.runtime;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.LiteralExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Decorates an {@link ExpressionParser} and rejects expressions which violate the rules, e.g. expressions built at
+ * runtime or provided by plugins which no scan at build time can see.
+ * <p>
+ * Each distinct expression is analyzed and validated against the rule set once, the verdict is kept in a
+ * {@link SpelVerdictCache}. Parsing a known expression only adds a hash lookup. The parsed expressions aren't wrapped,
+ * so evaluating them has no overhead. Template expressions are validated per embedded expression.
+ * <pre>{@code
+ * var ruleSet = SpelRuleSet.builder().usesOnlyBeans(List.of("orderSecurity")).build();
+ * expressionHandler.setExpressionParser(new GuardedExpressionParser(new SpelExpressionParser(), ruleSet));
+ * }</pre>
+ */
+@Slf4j
+public class GuardedExpressionParser implements ExpressionParser {
+
+    /**
+     * The default maximum number of verdicts.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    /**
+     * The location of the expressions in the messages of the rules.
+     */
+    private static final String LOCATION = "<runtime>";
+
+    private final ExpressionParser delegate;
+
+    private final SpelRuleSet ruleSet;
+
+    private final SpelVerdictCache verdictCache;
+
+    private final SpelExpressionParser spelExpressionParser = new SpelExpressionParser();
+
+    public GuardedExpressionParser(ExpressionParser delegate, SpelRuleSet ruleSet) {
+        this(delegate, ruleSet, new SpelVerdictCache(DEFAULT_CACHE_SIZE));
+    }
+
+    public GuardedExpressionParser(ExpressionParser delegate, SpelRuleSet ruleSet, SpelVerdictCache verdictCache) {
+        this.delegate = delegate;
+        this.ruleSet = ruleSet;
+        this.verdictCache = verdictCache;
+    }
+
+    /**
+     * @throws SpelPolicyViolationException if the expression violates the rules
+     */
+    @Override
+    public Expression parseExpression(String expressionString) throws ParseException {
+        return check(delegate.parseExpression(expressionString));
+    }
+
+    /**
+     * @throws SpelPolicyViolationException if the expression violates the rules
+     */
+    @Override
+    public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+        return check(delegate.parseExpression(expressionString, context));
+    }
+
+    public SpelVerdictCache getVerdictCache() {
+        return verdictCache;
+    }
+
+    /**
+     * Validates the expression without the cache, e.g. to check an expression before it is stored.
+     *
+     * @param expressionString the SpEL expression without template delimiters
+     * @return the verdict of the expression
+     */
+    public SpelVerdictCache.Verdict validate(String expressionString) {
+        SpelScanResult result;
+        try {
+            var expressionResult = spelExpressionParser.parseExpression(expressionString);
+            result = SpelScanResult.valid(LOCATION, null, expressionString, expressionResult);
+        } catch (RuntimeException e) {
+            result = SpelScanResult.invalid(LOCATION, null, expressionString, e.getMessage());
+        }
+        List<String> violations = new ArrayList<>();
+        for (var validationResult : ruleSet.validate(List.of(result))) {
+            if (validationResult.getStatus() == ValidationResult.ValidationStatus.ERROR) {
+                violations.add(validationResult.getMessage() + ": " + validationResult.getItems()
+                        .stream()
+                        .map(ValidationItem::getMessage)
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        if (!violations.isEmpty()) {
+            log.warn("[SpELValidator] Expression '{}' rejected: {}", expressionString, violations);
+            return new SpelVerdictCache.Verdict(violations);
+        }
+        return SpelVerdictCache.Verdict.ALLOWED;
+    }
+
+    /**
+     * Checks the SpEL expressions of a parsed expression. The literal parts of templates aren't SpEL expressions.
+     */
+    private Expression check(Expression expression) {
+        if (expression instanceof CompositeStringExpression composite) {
+            for (var part : composite.getExpressions()) {
+                check(part);
+            }
+        } else if (!(expression instanceof LiteralExpression)) {
+            var expressionString = expression.getExpressionString();
+            var verdict = verdictCache.get(expressionString, this::validate);
+            if (!verdict.isAllowed()) {
+                throw new SpelPolicyViolationException(expressionString, verdict.violations());
+            }
+        }
+        return expression;
+    }
+}
@@ -0,0 +1,23 @@
+package com.giffing.spel.validator.runtime;
+
+import lombok.Getter;
+import org.springframework.expression.ExpressionException;
+
+import java.util.List;
+
+/**
+ * Thrown if a SpEL expression violates the configured rules, e.g. if it references a bean which isn't allowed.
+ */
+@Getter
+public class SpelPolicyViolationException extends ExpressionException {
+
+    /**
+     * The messages of the violated rules.
+     */
+    private final List<String> violations;
+
+    public SpelPolicyViolationException(String expressionString, List<String> violations) {
+        super(expressionString, "SpEL expression violates the policy: " + String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+}
@@ -0,0 +1,154 @@
+package com.giffing.spel.validator.runtime;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size bounded cache of the verdicts of SpEL expressions.
+ * <p>
+ * Looking up a known expression is a single lock free read of a {@link ConcurrentHashMap}. If adding a verdict exceeds
+ * the maximum size, other verdicts are evicted until the size is within the bound again, so the cache can't grow with
+ * expressions built from user input. Evicted expressions are validated again on their next use.
+ * <p>
+ * The evictions move a single iterator around the map like a clock hand instead of starting at the beginning of the
+ * map each time, which would skip the ever growing number of emptied bins at its beginning. Only the evictions are
+ * serialized.
+ */
+public class SpelVerdictCache {
+
+    private final int maximumSize;
+
+    private final Map<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * The position of the last eviction, guarded by itself.
+     */
+    private final EvictionHand evictionHand = new EvictionHand();
+
+    public SpelVerdictCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the verdict cache must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the cached verdict of the expression or validates and caches it. Concurrent first uses of the same
+     * expression may validate it more than once, but always get the same verdict.
+     *
+     * @param expression the SpEL expression
+     * @param validator  validates the expression if it isn't cached yet
+     * @return the verdict of the expression
+     */
+    public Verdict get(String expression, Function<String, Verdict> validator) {
+        var verdict = verdicts.get(expression);
+        if (verdict != null) {
+            hits.increment();
+            return verdict;
+        }
+        misses.increment();
+        var validated = validator.apply(expression);
+        var existing = verdicts.putIfAbsent(expression, validated);
+        if (existing != null) {
+            return existing;
+        }
+        // only the thread which added the verdict evicts, so a lookup of a present expression never evicts
+        while (verdicts.size() > maximumSize) {
+            if (!evictOther(expression)) {
+                break;
+            }
+        }
+        return validated;
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+
+    public void clear() {
+        verdicts.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * Evicts the next verdict after the previous eviction other than the one of the given expression. The hand starts
+     * at the beginning of the map again once it reached its end.
+     *
+     * @return false if there is no other verdict to evict
+     */
+    private boolean evictOther(String expression) {
+        synchronized (evictionHand) {
+            var restarted = false;
+            while (true) {
+                if (evictionHand.keys == null || !evictionHand.keys.hasNext()) {
+                    if (restarted) {
+                        return false;
+                    }
+                    evictionHand.keys = verdicts.keySet().iterator();
+                    restarted = true;
+                    continue;
+                }
+                var key = evictionHand.keys.next();
+                if (!key.equals(expression) && verdicts.remove(key) != null) {
+                    evictions.increment();
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static class EvictionHand {
+        private Iterator<String> keys;
+    }
+
+    /**
+     * The result of validating an expression against the rules.
+     *
+     * @param violations the messages of the violated rules, empty if the expression is allowed
+     */
+    public record Verdict(List<String> violations) {
+
+        public static final Verdict ALLOWED = new Verdict(List.of());
+
+        public Verdict {
+            violations = List.copyOf(violations);
+        }
+
+        public boolean isAllowed() {
+            return violations.isEmpty();
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        @Override
+        public String toString() {
+            return "hits=%d, misses=%d, evictions=%d, size=%d".formatted(hits, misses, evictions, size);
+        }
+    }
+}
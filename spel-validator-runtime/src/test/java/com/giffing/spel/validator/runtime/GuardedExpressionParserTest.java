@@ -0,0 +1,88 @@
+package com.giffing.spel.validator.runtime;
+
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardedExpressionParserTest {
+
+    private final SpelRuleSet ruleSet = SpelRuleSet.builder()
+            .usesOnlyBeans(List.of("kontoSicherheit"))
+            .usesOnlyMethods(List.of("hasRole", "darfLesen"))
+            .build();
+
+    private final GuardedExpressionParser parser = new GuardedExpressionParser(new SpelExpressionParser(), ruleSet);
+
+    @Test
+    void parsesAllowedExpressionsAndValidatesThemOnce() {
+        var expression = parser.parseExpression("@kontoSicherheit.darfLesen(#id)");
+        parser.parseExpression("@kontoSicherheit.darfLesen(#id)");
+        parser.parseExpression("1 + 2");
+
+        assertThat(expression.getExpressionString()).isEqualTo("@kontoSicherheit.darfLesen(#id)");
+        assertThat(parser.parseExpression("1 + 2").getValue(new StandardEvaluationContext())).isEqualTo(3);
+        var stats = parser.getVerdictCache().getStats();
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsExpressionsViolatingTheRules() {
+        assertThatThrownBy(() -> parser.parseExpression("@fremdeBean.darfLesen(#id)"))
+                .isInstanceOf(SpelPolicyViolationException.class)
+                .hasMessageContaining("fremdeBean")
+                .satisfies(e -> assertThat(((SpelPolicyViolationException) e).getExpressionString())
+                        .isEqualTo("@fremdeBean.darfLesen(#id)"));
+        assertThatThrownBy(() -> parser.parseExpression("@fremdeBean.darfLesen(#id)"))
+                .isInstanceOf(SpelPolicyViolationException.class);
+        assertThatThrownBy(() -> parser.parseExpression("T(java.lang.Runtime).getRuntime().exec('ls')"))
+                .isInstanceOf(SpelPolicyViolationException.class)
+                .hasMessageContaining("getRuntime");
+        assertThat(parser.getVerdictCache().getStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void validatesEmbeddedExpressionsOfTemplates() {
+        var context = new TemplateParserContext();
+        assertThat(parser.parseExpression("Konto #{1 + 2}", context).getValue()).isEqualTo("Konto 3");
+        assertThatThrownBy(() -> parser.parseExpression("Konto #{@fremdeBean.name}", context))
+                .isInstanceOf(SpelPolicyViolationException.class);
+    }
+
+    @Test
+    void keepsSyntaxErrorsOfDelegate() {
+        assertThatThrownBy(() -> parser.parseExpression("hasRole('A'"))
+                .isInstanceOf(ParseException.class)
+                .isNotInstanceOf(SpelPolicyViolationException.class);
+        assertThat(parser.getVerdictCache().size()).isZero();
+    }
+
+    @Test
+    void boundsTheNumberOfVerdicts() {
+        var boundedParser = new GuardedExpressionParser(new SpelExpressionParser(), ruleSet, new SpelVerdictCache(2));
+        for (int i = 0; i < 5; i++) {
+            boundedParser.parseExpression("hasRole('ROLE_" + i + "')");
+        }
+        assertThat(boundedParser.getVerdictCache().size()).isEqualTo(2);
+        assertThat(boundedParser.getVerdictCache().getStats().getEvictions()).isEqualTo(3);
+    }
+
+    @Test
+    void guardsMethodSecurityExpressions() {
+        var handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setExpressionParser(new GuardedExpressionParser(handler.getExpressionParser(), ruleSet));
+
+        assertThat(handler.getExpressionParser().parseExpression("hasRole('ADMIN')")).isNotNull();
+        assertThatThrownBy(() -> handler.getExpressionParser().parseExpression("hasAuthority('ADMIN')"))
+                .isInstanceOf(SpelPolicyViolationException.class);
+    }
+}
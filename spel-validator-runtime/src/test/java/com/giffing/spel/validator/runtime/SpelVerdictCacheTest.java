@@ -0,0 +1,82 @@
+package com.giffing.spel.validator.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpelVerdictCacheTest {
+
+    @Test
+    void doesNotEvictForPresentExpressions() {
+        var cache = new SpelVerdictCache(2);
+        cache.get("hasRole('A')", e -> SpelVerdictCache.Verdict.ALLOWED);
+        cache.get("hasRole('B')", e -> SpelVerdictCache.Verdict.ALLOWED);
+
+        cache.get("hasRole('A')", e -> SpelVerdictCache.Verdict.ALLOWED);
+        cache.get("hasRole('B')", e -> SpelVerdictCache.Verdict.ALLOWED);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getStats().getEvictions()).isZero();
+        assertThat(cache.getStats().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsEvictingAfterTheHandWrappedAround() {
+        var maximumSize = 1_000;
+        var cache = new SpelVerdictCache(maximumSize);
+
+        for (int i = 0; i < 200_000; i++) {
+            var expression = "hasRole('ROLE_" + i + "')";
+            cache.get(expression, e -> SpelVerdictCache.Verdict.ALLOWED);
+            // the verdict just added is never evicted
+            cache.get(expression, e -> SpelVerdictCache.Verdict.ALLOWED);
+        }
+
+        assertThat(cache.size()).isEqualTo(maximumSize);
+        var stats = cache.getStats();
+        assertThat(stats.getEvictions()).isEqualTo(200_000L - maximumSize);
+        assertThat(stats.getHits()).isEqualTo(200_000L);
+    }
+
+    @Test
+    void keepsTheBoundUnderConcurrentAdds() throws Exception {
+        var maximumSize = 16;
+        var threads = 8;
+        var cache = new SpelVerdictCache(maximumSize);
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                var thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        // overlapping expressions, so present keys and concurrent first uses are both exercised
+                        cache.get("hasRole('ROLE_" + (thread * 1_000 + i) % 5_000 + "')",
+                                e -> SpelVerdictCache.Verdict.ALLOWED);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(maximumSize);
+        var stats = cache.getStats();
+        assertThat(stats.getEvictions()).isPositive();
+        assertThat(stats.getHits() + stats.getMisses()).isEqualTo(threads * 2_000L);
+    }
+}
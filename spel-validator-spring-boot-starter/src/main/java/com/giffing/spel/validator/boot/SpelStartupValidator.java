@@ -0,0 +1,193 @@
+package com.giffing.spel.validator.boot;
+
+import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanner;
+import com.giffing.spel.validator.core.SpelSemanticValidator;
+import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.listener.ScanListener;
+import com.giffing.spel.validator.core.result.ValidationItem;
+import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Validates the SpEL expressions of the application once it is ready. The expressions are scanned in the background,
+ * so the startup time of the application isn't affected. The result is available as {@link #getReport()}.
+ * <p>
+ * If {@link SpelValidatorProperties#isFailFast() fail fast} is enabled, the expressions are validated synchronously
+ * and the startup fails if an expression violates the rules.
+ */
+@Slf4j
+public class SpelStartupValidator implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final List<String> SECURITY_ANNOTATIONS = List.of(
+            "org.springframework.security.access.prepost.PreAuthorize",
+            "org.springframework.security.access.prepost.PostAuthorize",
+            "org.springframework.security.access.prepost.PostFilter",
+            "org.springframework.security.access.prepost.PreFilter");
+
+    private final SpelValidatorProperties properties;
+
+    /**
+     * The packages to scan if none are configured.
+     */
+    private final List<String> defaultPackages;
+
+    private final List<ScanListener> listeners;
+
+    private final TaskExecutor executor;
+
+    private final AtomicReference<SpelValidationReport> report = new AtomicReference<>(SpelValidationReport.PENDING);
+
+    public SpelStartupValidator(SpelValidatorProperties properties, List<String> defaultPackages,
+                                List<ScanListener> listeners, TaskExecutor executor) {
+        this.properties = properties;
+        this.defaultPackages = List.copyOf(defaultPackages);
+        this.listeners = List.copyOf(listeners);
+        this.executor = executor;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (properties.isFailFast()) {
+            var validationReport = validate(event.getApplicationContext());
+            if (validationReport.getStatus() != SpelValidationReport.Status.VALID) {
+                throw new IllegalStateException("SpEL validation failed: " + describe(validationReport));
+            }
+            return;
+        }
+        validateAsync(event.getApplicationContext());
+    }
+
+    /**
+     * Validates the expressions in the background.
+     *
+     * @param applicationContext the application context
+     * @return the report when the validation is finished
+     */
+    public CompletableFuture<SpelValidationReport> validateAsync(ApplicationContext applicationContext) {
+        return CompletableFuture.supplyAsync(() -> validate(applicationContext), executor);
+    }
+
+    /**
+     * Scans the configured packages and validates the expressions against the configured rules.
+     *
+     * @param applicationContext the application context
+     * @return the report, it is also available as {@link #getReport()}
+     */
+    public SpelValidationReport validate(ApplicationContext applicationContext) {
+        var packages = properties.getPackages().isEmpty() ? defaultPackages : properties.getPackages();
+        if (packages.isEmpty()) {
+            log.warn("[SpELValidator] No package to scan, configure 'spel.validator.packages'");
+            return publish(new SpelValidationReport(SpelValidationReport.Status.FAILED, packages, 0, List.of(), 0,
+                    "No package configured"));
+        }
+        report.set(SpelValidationReport.RUNNING);
+        var start = System.nanoTime();
+        SpelValidationReport validationReport;
+        try {
+            var configuration = SpelConfiguration.builder()
+                    .includePackages(packages)
+                    .excludePackages(properties.getExcludePackages())
+                    .annotations(getAnnotations())
+                    .extractionMode(properties.getExtractionMode())
+                    .classLoader(applicationContext.getClassLoader())
+                    .listeners(listeners)
+                    .build();
+            var results = new SpelScanner(new SpelExpressionParser()).scan(configuration);
+            var validationResults = createRuleSet(applicationContext).validate(results);
+            var valid = validationResults.stream()
+                    .allMatch(result -> result.getStatus() == ValidationResult.ValidationStatus.OK);
+            validationReport = new SpelValidationReport(
+                    valid ? SpelValidationReport.Status.VALID : SpelValidationReport.Status.INVALID, packages,
+                    results.size(), validationResults, toMillis(start), null);
+        } catch (RuntimeException e) {
+            log.error("[SpELValidator] Expressions of {} couldn't be validated: {}", packages, e.getMessage(), e);
+            validationReport = new SpelValidationReport(SpelValidationReport.Status.FAILED, packages, 0, List.of(),
+                    toMillis(start), e.getMessage());
+        }
+        return publish(validationReport);
+    }
+
+    /**
+     * @return the result of the last validation
+     */
+    public SpelValidationReport getReport() {
+        return report.get();
+    }
+
+    private SpelValidationReport publish(SpelValidationReport validationReport) {
+        report.set(validationReport);
+        switch (validationReport.getStatus()) {
+            case VALID -> log.info("[SpELValidator] {} expressions validated in {} ms",
+                    validationReport.getExpressions(), validationReport.getDurationMillis());
+            case INVALID -> log.error("[SpELValidator] {} violations in {} expressions: {}",
+                    validationReport.getViolations(), validationReport.getExpressions(), describe(validationReport));
+            default -> {
+            }
+        }
+        return validationReport;
+    }
+
+    private List<AnnotationToScan> getAnnotations() {
+        List<AnnotationToScan> annotations = new ArrayList<>();
+        if (properties.isSecurityDefaults()) {
+            SECURITY_ANNOTATIONS.forEach(annotation -> annotations.add(new AnnotationToScan(annotation)));
+        }
+        for (var value : properties.getAnnotations()) {
+            var separator = value.indexOf('#');
+            var annotation = new AnnotationToScan(separator < 0 ? value : value.substring(0, separator));
+            if (separator >= 0) {
+                annotation.setAttributeNames(List.of(value.substring(separator + 1).split(",")));
+            }
+            annotations.add(annotation);
+        }
+        return annotations;
+    }
+
+    private SpelRuleSet createRuleSet(ApplicationContext applicationContext) {
+        var ruleSet = SpelRuleSet.builder().matchMode(properties.getMatchMode());
+        if (properties.isAllValid()) {
+            ruleSet.allValid();
+        }
+        if (!properties.getAllowedBeans().isEmpty()) {
+            ruleSet.usesOnlyBeans(properties.getAllowedBeans());
+        }
+        if (!properties.getAllowedMethods().isEmpty()) {
+            ruleSet.usesOnlyMethods(properties.getAllowedMethods());
+        }
+        properties.getAllowedParams().forEach(ruleSet::verifyMethodParameter);
+        if (properties.isResolveReferences()) {
+            var rootType = SpelSemanticValidator.methodSecurityRootType().orElse(null);
+            ruleSet.resolvesReferences(SpelSemanticValidator.forApplicationContext(rootType, applicationContext));
+        }
+        return ruleSet.build();
+    }
+
+    private static String describe(SpelValidationReport validationReport) {
+        if (validationReport.getErrorMessage() != null) {
+            return validationReport.getErrorMessage();
+        }
+        List<String> messages = new ArrayList<>();
+        for (var result : validationReport.getValidationResults()) {
+            if (result.getStatus() == ValidationResult.ValidationStatus.ERROR) {
+                messages.add(result.getMessage() + " " + result.getItems().stream().map(ValidationItem::getMessage).toList());
+            }
+        }
+        return String.join("; ", messages);
+    }
+
+    private static long toMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,81 @@
+package com.giffing.spel.validator.boot;
+
+import com.giffing.spel.validator.core.result.ValidationResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The result of the last validation of the SpEL expressions at startup.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SpelValidationReport {
+
+    static final SpelValidationReport PENDING = new SpelValidationReport(Status.PENDING, List.of(), 0, List.of(), 0, null);
+
+    static final SpelValidationReport RUNNING = new SpelValidationReport(Status.RUNNING, List.of(), 0, List.of(), 0, null);
+
+    private final Status status;
+
+    /**
+     * The scanned packages.
+     */
+    private final List<String> packages;
+
+    /**
+     * The number of scanned expressions.
+     */
+    private final int expressions;
+
+    /**
+     * One validation result per rule.
+     */
+    private final List<ValidationResult> validationResults;
+
+    private final long durationMillis;
+
+    /**
+     * The reason why the validation failed or null.
+     */
+    private final String errorMessage;
+
+    /**
+     * @return the number of expressions violating a rule
+     */
+    public int getViolations() {
+        return validationResults.stream()
+                .filter(result -> result.getStatus() == ValidationResult.ValidationStatus.ERROR)
+                .mapToInt(result -> result.getItems().size())
+                .sum();
+    }
+
+    public enum Status {
+
+        /**
+         * The application isn't ready yet.
+         */
+        PENDING,
+
+        /**
+         * The expressions are being validated.
+         */
+        RUNNING,
+
+        /**
+         * All expressions satisfy the rules.
+         */
+        VALID,
+
+        /**
+         * At least one expression violates a rule.
+         */
+        INVALID,
+
+        /**
+         * The expressions couldn't be scanned.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,91 @@
+package com.giffing.spel.validator.boot;
+
+import com.giffing.spel.validator.core.listener.ScanListener;
+import com.giffing.spel.validator.micrometer.MicrometerScanListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+
+/**
+ * Validates the SpEL expressions of the application in the background once it is ready, see
+ * {@link SpelStartupValidator}. The result is published as actuator endpoint {@code spel} and as metrics if the
+ * actuator and Micrometer are available.
+ */
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+@ConditionalOnProperty(prefix = "spel.validator", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SpelValidatorProperties.class)
+public class SpelValidatorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpelStartupValidator spelStartupValidator(SpelValidatorProperties properties, BeanFactory beanFactory,
+                                                     ObjectProvider<ScanListener> listeners, Environment environment) {
+        var defaultPackages = AutoConfigurationPackages.has(beanFactory)
+                ? AutoConfigurationPackages.get(beanFactory)
+                : List.<String>of();
+        return new SpelStartupValidator(properties, defaultPackages, listeners.orderedStream().toList(),
+                createExecutor(environment));
+    }
+
+    /**
+     * The executor isn't a bean, so it doesn't replace the task executor of the application. It uses virtual threads
+     * if they are enabled for the application.
+     */
+    private static SimpleAsyncTaskExecutor createExecutor(Environment environment) {
+        var executor = new SimpleAsyncTaskExecutor("spel-validator-");
+        executor.setDaemon(true);
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnAvailableEndpoint(endpoint = SpelValidatorEndpoint.class)
+    static class EndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        SpelValidatorEndpoint spelValidatorEndpoint(SpelStartupValidator startupValidator) {
+            return new SpelValidatorEndpoint(startupValidator);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterRegistry.class, MicrometerScanListener.class})
+    @ConditionalOnBean(MeterRegistry.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        MicrometerScanListener spelMicrometerScanListener(MeterRegistry meterRegistry) {
+            return new MicrometerScanListener(meterRegistry);
+        }
+
+        @Bean
+        MeterBinder spelViolationsMeterBinder(ObjectProvider<SpelStartupValidator> startupValidator) {
+            return registry -> Gauge.builder("spel.validator.violations", startupValidator,
+                            validator -> validator.getObject().getReport().getViolations())
+                    .description("The number of expressions violating a rule at the last validation")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.giffing.spel.validator.boot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint {@code spel} exposing the result of the validation of the SpEL expressions at startup.
+ */
+@Endpoint(id = "spel")
+@RequiredArgsConstructor
+public class SpelValidatorEndpoint {
+
+    private final SpelStartupValidator startupValidator;
+
+    @ReadOperation
+    public SpelValidationReport report() {
+        return startupValidator.getReport();
+    }
+}
@@ -0,0 +1,89 @@
+package com.giffing.spel.validator.boot;
+
+import com.giffing.spel.validator.core.config.ExtractionMode;
+import com.giffing.spel.validator.core.rule.AllowList;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the validation of the SpEL expressions at startup.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spel.validator")
+public class SpelValidatorProperties {
+
+    /**
+     * Whether the expressions are validated after the application is ready.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The packages to scan, defaults to the auto-configuration packages, e.g. the package of the
+     * {@code @SpringBootApplication}.
+     */
+    private List<String> packages = new ArrayList<>();
+
+    /**
+     * The packages which aren't scanned.
+     */
+    private List<String> excludePackages = new ArrayList<>();
+
+    /**
+     * Whether {@code @PreAuthorize}, {@code @PostAuthorize}, {@code @PreFilter} and {@code @PostFilter} are scanned.
+     */
+    private boolean securityDefaults = true;
+
+    /**
+     * Additional annotations to scan as {@code <class>[#attribute,...]}, the attribute defaults to {@code value}.
+     */
+    private List<String> annotations = new ArrayList<>();
+
+    /**
+     * How the expressions are read, the class files are read without loading the classes by default.
+     */
+    private ExtractionMode extractionMode = ExtractionMode.BYTECODE;
+
+    /**
+     * Whether syntactically invalid expressions are reported.
+     */
+    private boolean allValid = true;
+
+    /**
+     * The beans which may be referenced, all beans if empty.
+     */
+    private List<String> allowedBeans = new ArrayList<>();
+
+    /**
+     * The methods which may be called, all methods if empty.
+     */
+    private List<String> allowedMethods = new ArrayList<>();
+
+    /**
+     * The allowed parameter values per method name.
+     */
+    private Map<String, List<String>> allowedParams = new LinkedHashMap<>();
+
+    /**
+     * How the allowed beans, methods and parameter values are matched.
+     */
+    private AllowList.MatchMode matchMode = AllowList.MatchMode.EXACT;
+
+    /**
+     * Whether the referenced beans and methods are resolved against the application context.
+     */
+    private boolean resolveReferences;
+
+    /**
+     * Whether the startup fails if an expression violates the rules. The expressions are validated synchronously on the
+     * {@code ApplicationReadyEvent} instead of in the background, i.e. after the application runners, and the context is
+     * closed on violations.
+     */
+    private boolean failFast;
+}
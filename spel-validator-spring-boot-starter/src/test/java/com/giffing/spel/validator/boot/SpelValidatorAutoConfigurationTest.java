@@ -0,0 +1,97 @@
+package com.giffing.spel.validator.boot;
+
+import com.giffing.spel.validator.boot.fixture.gueltig.Kontoservice;
+import com.giffing.spel.validator.boot.fixture.ungueltig.Buchungsservice;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpelValidatorAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SpelValidatorAutoConfiguration.class));
+
+    @Test
+    void validatesExpressionsInBackground() {
+        contextRunner
+                .withPropertyValues("spel.validator.packages=" + Kontoservice.class.getPackageName(),
+                        "spel.validator.allowed-beans=kontoSicherheit")
+                .run(context -> {
+                    var validator = context.getBean(SpelStartupValidator.class);
+                    assertThat(validator.getReport().getStatus()).isEqualTo(SpelValidationReport.Status.PENDING);
+
+                    var report = validator.validateAsync(context).get(10, TimeUnit.SECONDS);
+
+                    assertThat(report.getStatus()).isEqualTo(SpelValidationReport.Status.VALID);
+                    assertThat(report.getExpressions()).isEqualTo(2);
+                    assertThat(validator.getReport()).isSameAs(report);
+                });
+    }
+
+    @Test
+    void reportsViolationsAsEndpointAndMetrics() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(EndpointAutoConfiguration.class, MetricsAutoConfiguration.class,
+                        CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+                .withPropertyValues("spel.validator.packages=com.giffing.spel.validator.boot.fixture",
+                        "spel.validator.allowed-methods=hasRole",
+                        "management.endpoints.web.exposure.include=spel")
+                .run(context -> {
+                    var validator = context.getBean(SpelStartupValidator.class);
+                    validator.validateAsync(context).get(10, TimeUnit.SECONDS);
+
+                    var report = context.getBean(SpelValidatorEndpoint.class).report();
+                    assertThat(report.getStatus()).isEqualTo(SpelValidationReport.Status.INVALID);
+                    assertThat(report.getViolations()).isEqualTo(2);
+                    var registry = context.getBean(MeterRegistry.class);
+                    assertThat(registry.get("spel.validator.violations").gauge().value()).isEqualTo(2);
+                    assertThat(registry.get("spel.validator.expressions").summary().totalAmount()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    void failsStartupIfFailFastIsEnabled() {
+        contextRunner
+                .withPropertyValues("spel.validator.packages=" + Buchungsservice.class.getPackageName(),
+                        "spel.validator.fail-fast=true")
+                .run(context -> {
+                    var validator = context.getBean(SpelStartupValidator.class);
+                    assertThatThrownBy(() -> validator.onApplicationEvent(readyEvent(context)))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("hasRole('ADMIN'");
+                    assertThat(validator.getReport().getStatus()).isEqualTo(SpelValidationReport.Status.INVALID);
+                });
+    }
+
+    @Test
+    void backsOffIfDisabled() {
+        contextRunner
+                .withPropertyValues("spel.validator.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(SpelStartupValidator.class));
+    }
+
+    @Test
+    void doesNotRegisterEndpointWithoutActuatorEndpoints() {
+        contextRunner.run(context -> assertThat(context)
+                .hasSingleBean(SpelStartupValidator.class)
+                .doesNotHaveBean(SpelValidatorEndpoint.class));
+    }
+
+    private static ApplicationReadyEvent readyEvent(ConfigurableApplicationContext context) {
+        return new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO);
+    }
+}
@@ -0,0 +1,14 @@
+package com.giffing.spel.validator.boot.fixture.gueltig;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+
+public class Kontoservice {
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void loeschen() {
+    }
+
+    @PreAuthorize("@kontoSicherheit.darfLesen(#id)")
+    public void lesen(Long id) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.giffing.spel.validator.boot.fixture.ungueltig;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+
+public class Buchungsservice {
+
+    @PreAuthorize("hasRole('ADMIN'")
+    public void buchen() {
+    }
+}
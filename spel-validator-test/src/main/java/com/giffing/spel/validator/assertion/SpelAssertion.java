@@ -1,15 +1,24 @@
 package com.giffing.spel.validator.assertion;
 
+import com.giffing.spel.validator.core.SpelExpressionCache;
 import com.giffing.spel.validator.core.SpelExpressionParser;
+import com.giffing.spel.validator.core.SpelScanSession;
 import com.giffing.spel.validator.core.SpelScanner;
 import com.giffing.spel.validator.core.config.AnnotationToScan;
+import com.giffing.spel.validator.core.config.ExtractionMode;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.listener.ScanListener;
+import com.giffing.spel.validator.core.listener.ScanStatistics;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public class SpelAssertion {
 
@@ -19,8 +28,18 @@ public class SpelAssertion {
 
     @Slf4j
     public static class SpelValidatorBuilder {
-        private String packageName;
+        private final List<String> packageNames = new ArrayList<>();
+        private final List<String> excludePackages = new ArrayList<>();
         private List<Class<? extends Annotation>> annotations = new ArrayList<>();
+        private final Map<Class<? extends Annotation>, String[]> attributeNames = new HashMap<>();
+        private Executor executor;
+        private ExtractionMode extractionMode = ExtractionMode.REFLECTION;
+        private Path cacheDirectory;
+        private SpelExpressionCache expressionCache;
+        private ClassLoader classLoader;
+        private SpelScanSession session;
+        private boolean deduplicate;
+        private final List<ScanListener> listeners = new ArrayList<>();
 
         public SpelValidatorBuilder registerSecurityDefaults() {
             getSubclass("org.springframework.security.access.prepost.PreAuthorize").ifPresent(annotations::add);
@@ -40,8 +59,24 @@ public class SpelAssertion {
             return Optional.empty();
         }
 
+        /**
+         * Adds a package to scan. All packages are scanned with a single pass over the classpath.
+         */
         public SpelValidatorBuilder packageName(String packageName) {
-            this.packageName = packageName;
+            this.packageNames.add(packageName);
+            return this;
+        }
+
+        public SpelValidatorBuilder packageNames(String... packageNames) {
+            this.packageNames.addAll(List.of(packageNames));
+            return this;
+        }
+
+        /**
+         * Skips the classes of the package, e.g. generated or legacy code.
+         */
+        public SpelValidatorBuilder excludePackage(String packageName) {
+            this.excludePackages.add(packageName);
             return this;
         }
 
@@ -50,14 +85,95 @@ public class SpelAssertion {
             return this;
         }
 
-        public SpelValidatorAssert scanSpEL() {
-            var spelScanner = new SpelScanner(new SpelExpressionParser());
+        /**
+         * Scans the candidate classes in parallel on the given executor (e.g. {@code ForkJoinPool.commonPool()}).
+         */
+        public SpelValidatorBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Defines how the expressions are extracted from the scanned classes.
+         */
+        public SpelValidatorBuilder extractionMode(ExtractionMode extractionMode) {
+            this.extractionMode = extractionMode;
+            return this;
+        }
+
+        /**
+         * Enables the persistent scan cache (e.g. {@code target/spel-validator-cache}). Only classes which changed
+         * since the last scan are processed again.
+         */
+        public SpelValidatorBuilder cacheDirectory(Path cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Caches up to the given number of parsed expressions, so repeated expressions are parsed only once.
+         */
+        public SpelValidatorBuilder expressionCache(int maximumSize) {
+            this.expressionCache = new SpelExpressionCache(maximumSize);
+            return this;
+        }
 
-            var results = spelScanner.scan(SpelConfiguration
+        /**
+         * The class loader used to find the classes and to load the annotations. Defaults to the thread context class
+         * loader.
+         */
+        public SpelValidatorBuilder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        /**
+         * Takes the results from the given session instead of scanning the classpath again. The expression cache is
+         * not used in this case, the session uses its own scanner.
+         *
+         * @see SpelScanSessionExtension
+         */
+        public SpelValidatorBuilder session(SpelScanSession session) {
+            this.session = session;
+            return this;
+        }
+
+        /**
+         * Merges identical expressions, so each violation is reported once per expression with all its sites.
+         */
+        public SpelValidatorBuilder deduplicate() {
+            this.deduplicate = true;
+            return this;
+        }
+
+        /**
+         * Registers a listener which is notified about the progress of the scan, e.g. to collect metrics.
+         */
+        public SpelValidatorBuilder listener(ScanListener listener) {
+            this.listeners.add(listener);
+            return this;
+        }
+
+        public SpelValidatorAssert scanSpEL() {
+            var statistics = new ScanStatistics();
+            var configuration = SpelConfiguration
                     .builder()
-                    .basePackage(packageName)
-                    .annotations(annotations.stream().map(AnnotationToScan::of).toList())
-                    .build());
+                    .includePackages(packageNames)
+                    .excludePackages(excludePackages)
+                    .annotations(annotations.stream().map(this::toAnnotationToScan).toList())
+                    .executor(executor)
+                    .extractionMode(extractionMode)
+                    .cacheDirectory(cacheDirectory)
+                    .deduplicate(deduplicate)
+                    .listener(statistics)
+                    .listeners(listeners);
+            if (classLoader != null) {
+                configuration.classLoader(classLoader);
+            }
+            var results = session != null
+                    ? session.scan(configuration.build())
+                    : new SpelScanner(new SpelExpressionParser(expressionCache)).scan(configuration.build());
+            log.info(statistics.getSummary());
             return SpelValidatorAssert.assertThat(results);
         }
 
@@ -65,6 +181,19 @@ public class SpelAssertion {
             this.annotations.add(annotationToAdd);
             return this;
         }
+
+        /**
+         * Scans the given attributes of the annotation instead of {@code value}.
+         */
+        public SpelValidatorBuilder annotation(Class<? extends Annotation> annotationToAdd, String... attributeNames) {
+            this.attributeNames.put(annotationToAdd, attributeNames);
+            return annotation(annotationToAdd);
+        }
+
+        private AnnotationToScan toAnnotationToScan(Class<? extends Annotation> annotation) {
+            var names = attributeNames.get(annotation);
+            return names != null ? AnnotationToScan.of(annotation, names) : AnnotationToScan.of(annotation);
+        }
     }
 }
 
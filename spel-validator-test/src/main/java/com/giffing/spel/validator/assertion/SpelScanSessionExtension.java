@@ -0,0 +1,52 @@
+package com.giffing.spel.validator.assertion;
+
+import com.giffing.spel.validator.core.SpelScanSession;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * JUnit 5 extension which provides a {@link SpelScanSession} shared by all tests of a test run.
+ * <p>
+ * The session is kept in the store of the root context, so each package is scanned only once even if many test
+ * classes validate the same or nested packages.
+ * <pre>{@code
+ * @ExtendWith(SpelScanSessionExtension.class)
+ * class SecurityTest {
+ *
+ *     @Test
+ *     void assertSpEL(SpelScanSession session) {
+ *         SpelAssertion.config()
+ *                 .session(session)
+ *                 .registerSecurityDefaults()
+ *                 .packageName("com.examples")
+ *                 .scanSpEL()
+ *                 .allValid();
+ *     }
+ * }
+ * }</pre>
+ */
+public class SpelScanSessionExtension implements ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SpelScanSessionExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SpelScanSession.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return getSession(extensionContext);
+    }
+
+    /**
+     * @param extensionContext any context of the test run
+     * @return the session shared by all tests of the test run
+     */
+    public static SpelScanSession getSession(ExtensionContext extensionContext) {
+        return extensionContext.getRoot()
+                .getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SpelScanSession.class);
+    }
+}
@@ -1,19 +1,34 @@
 package com.giffing.spel.validator.assertion;
 
+import com.giffing.spel.validator.core.SpelSemanticValidator;
 import com.giffing.spel.validator.core.SpelValidator;
+import com.giffing.spel.validator.core.config.PackageMatcher;
+import com.giffing.spel.validator.core.result.SpelResultStore;
 import com.giffing.spel.validator.core.result.SpelScanResult;
 import com.giffing.spel.validator.core.result.ValidationItem;
 import com.giffing.spel.validator.core.result.ValidationResult;
+import com.giffing.spel.validator.core.rule.AllowList;
+import com.giffing.spel.validator.core.rule.SpelRuleSet;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.AbstractAssert;
+import org.springframework.util.ClassUtils;
 
 import java.util.List;
 
+/**
+ * Assertions for the scanned SpEL expressions.
+ * <p>
+ * The results are additionally stored once in a {@link SpelResultStore} and all checks of an assertion object share
+ * one {@link SpelValidator}, so the reference index is built only once for all checks.
+ */
 @Slf4j
 public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, List<SpelScanResult>> {
 
+    private SpelValidator validator;
+
     public SpelValidatorAssert(List<SpelScanResult> actual) {
         super(actual, SpelValidatorAssert.class);
+        this.validator = actual == null ? null : new SpelValidator(SpelResultStore.of(actual), AllowList.MatchMode.EXACT);
     }
 
     public static SpelValidatorAssert assertThat(List<SpelScanResult> actual) {
@@ -21,10 +36,37 @@ public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, Lis
     }
 
 
+    /**
+     * Defines how the allowed values of the subsequent checks are matched, e.g. {@link AllowList.MatchMode#PREFIX}
+     * to allow all roles starting with {@code ROLE_}.
+     *
+     * @param matchMode the match mode
+     * @return this assertion object for method chaining
+     */
+    public SpelValidatorAssert withMatchMode(AllowList.MatchMode matchMode) {
+        isNotNull();
+        validator = validator.withMatchMode(matchMode);
+        return this;
+    }
+
+    /**
+     * Restricts the subsequent checks to the expressions of the package and its sub packages, e.g. to apply different
+     * rules to the bounded contexts of a single scan.
+     *
+     * @param packageName the package name
+     * @return a new assertion object for the expressions of the package
+     */
+    public SpelValidatorAssert forPackage(String packageName) {
+        isNotNull();
+        var packageResults = actual.stream()
+                .filter(result -> PackageMatcher.isWithin(ClassUtils.getPackageName(result.getClassName()), packageName))
+                .toList();
+        return new SpelValidatorAssert(packageResults).withMatchMode(validator.getMatchMode());
+    }
+
     public SpelValidatorAssert allValid() {
         isNotNull();
-        var spelValidator = new SpelValidator(actual);
-        var allValid = spelValidator.allMatchStatus(SpelScanResult.Status.VALID);
+        var allValid = validator.allMatchStatus(SpelScanResult.Status.VALID);
         if(!allValid) {
             failWithMessage("""
                     ❌ Found invalid SpEL expressions:
@@ -39,8 +81,7 @@ public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, Lis
 
     public SpelValidatorAssert hasErrors() {
         isNotNull();
-        var spelValidator = new SpelValidator(actual);
-        var anyInvalid = spelValidator.anyMatchStatus(SpelScanResult.Status.INVALID);
+        var anyInvalid = validator.anyMatchStatus(SpelScanResult.Status.INVALID);
         if(!anyInvalid) {
             failWithMessage("""
                     ❌ No Errors found. Expected any invalid SpEL expressions:
@@ -66,8 +107,7 @@ public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, Lis
      */
     public SpelValidatorAssert usesOnlyMethods(List<String> allowedMethods) {
         isNotNull();
-        var spelValidator = new SpelValidator(actual);
-        var validationResult = spelValidator.usesOnlyMethods(allowedMethods);
+        var validationResult = validator.usesOnlyMethods(allowedMethods);
         if (validationResult.getStatus().equals(ValidationResult.ValidationStatus.ERROR)) {
             fail(validationResult);
         }
@@ -81,8 +121,7 @@ public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, Lis
 
     public SpelValidatorAssert usesOnlyBeans(List<String> allowedBeans) {
         isNotNull();
-        var spelValidator = new SpelValidator(actual);
-        var validationResult = spelValidator.usesOnlyBeans(allowedBeans);
+        var validationResult = validator.usesOnlyBeans(allowedBeans);
         if (validationResult.getStatus().equals(ValidationResult.ValidationStatus.ERROR)) {
             fail(validationResult);
         }
@@ -94,19 +133,59 @@ public class SpelValidatorAssert extends AbstractAssert<SpelValidatorAssert, Lis
     }
 
     public SpelValidatorAssert verifyMethodParameter(String methodName, List<String> allowedParams) {
-        var spelValidator = new SpelValidator(actual);
-        var validationResult = spelValidator.verifyMethodParameter(methodName, allowedParams);
+        isNotNull();
+        var validationResult = validator.verifyMethodParameter(methodName, allowedParams);
+        if (validationResult.getStatus().equals(ValidationResult.ValidationStatus.ERROR)) {
+            fail(validationResult);
+        }
+        return this;
+    }
+
+    /**
+     * Checks if all bean and method references can be resolved against the real types, e.g. the beans of the
+     * application context. Fails if a bean or method doesn't exist.
+     *
+     * @param semanticValidator the validator knowing the root type and the bean types
+     * @return this assertion object for method chaining
+     */
+    public SpelValidatorAssert resolvesReferences(SpelSemanticValidator semanticValidator) {
+        isNotNull();
+        var validationResult = validator.resolvesReferences(semanticValidator);
         if (validationResult.getStatus().equals(ValidationResult.ValidationStatus.ERROR)) {
             fail(validationResult);
         }
         return this;
     }
 
+    /**
+     * Evaluates all rules of the rule set in a single pass and fails with the messages of all violated rules.
+     *
+     * @param ruleSet the rules to evaluate
+     * @return this assertion object for method chaining
+     */
+    public SpelValidatorAssert satisfiesRules(SpelRuleSet ruleSet) {
+        isNotNull();
+        var errors = validator.validate(ruleSet)
+                .stream()
+                .filter(r -> r.getStatus().equals(ValidationResult.ValidationStatus.ERROR))
+                .toList();
+        if (!errors.isEmpty()) {
+            failWithMessage("%s", errors.stream()
+                    .map(SpelValidatorAssert::toMessage)
+                    .reduce("", String::concat));
+        }
+        return this;
+    }
+
     private void fail(ValidationResult validationResult) {
-        failWithMessage("""
-                        ❌ %s
-                            %s
-                        """, validationResult.getMessage(),
+        failWithMessage("%s", toMessage(validationResult));
+    }
+
+    private static String toMessage(ValidationResult validationResult) {
+        return """
+                ❌ %s
+                    %s
+                """.formatted(validationResult.getMessage(),
                 validationResult.getItems()
                         .stream()
                         .map(ValidationItem::getMessage)
@@ -0,0 +1,33 @@
+package com.giffing.spel.validator.assertion;
+
+import com.giffing.spel.validator.assertion.usecase_1.MeineAnnotation;
+import com.giffing.spel.validator.assertion.usecase_1.Testklasse;
+import com.giffing.spel.validator.core.SpelScanSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpelScanSessionExtension.class)
+class SpelScanSessionExtensionTest {
+
+    @Test
+    void sharesSessionBetweenAssertions(SpelScanSession session) {
+        SpelAssertion.config()
+                .session(session)
+                .packageName(SpelScanSessionExtensionTest.class.getPackageName())
+                .annotation(MeineAnnotation.class)
+                .scanSpEL()
+                .allValid();
+        SpelAssertion.config()
+                .session(session)
+                .packageName(Testklasse.class.getPackageName())
+                .annotation(MeineAnnotation.class)
+                .scanSpEL()
+                .allValid()
+                .usesOnlyBeans("unknownBean");
+
+        assertThat(session.size()).isEqualTo(1);
+    }
+
+}
@@ -6,24 +6,60 @@ import com.giffing.spel.validator.core.SpelExpressionParser;
 import com.giffing.spel.validator.core.SpelScanner;
 import com.giffing.spel.validator.core.config.AnnotationToScan;
 import com.giffing.spel.validator.core.config.SpelConfiguration;
+import com.giffing.spel.validator.core.result.SpelScanResult;
+import com.giffing.spel.validator.core.rule.AllowList;
 import org.junit.jupiter.api.Test;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class SpelValidatorAssertTest {
 
     @Test
     public void test() {
-        var spELScanner = new SpelScanner(new SpelExpressionParser());
+        SpelValidatorAssert.assertThat(scan())
+                .verifyMethodParameter("hasRole", List.of("B", "C", "D", "alias_class_annotation"))
+        ;
+    }
+
+    @Test
+    public void readsTheResultsOnceForAllChecks() {
+        var results = scan();
+        var reads = new AtomicInteger();
+        List<SpelScanResult> countingResults = new AbstractList<>() {
+            @Override
+            public SpelScanResult get(int index) {
+                reads.incrementAndGet();
+                return results.get(index);
+            }
 
-        var result = spELScanner.scan(SpelConfiguration
+            @Override
+            public int size() {
+                return results.size();
+            }
+        };
+
+        SpelValidatorAssert.assertThat(countingResults)
+                .usesOnlyBeans("unknownBean")
+                .usesOnlyMethods("hasRole", "someMethod")
+                .verifyMethodParameter("hasRole", "B", "C", "D", "alias_class_annotation")
+                .withMatchMode(AllowList.MatchMode.PREFIX)
+                .verifyMethodParameter("hasRole", "B", "C", "D", "alias_")
+                .usesOnlyBeans("unknown");
+
+        assertThat(reads).hasValue(results.size());
+    }
+
+    private static List<SpelScanResult> scan() {
+        var spELScanner = new SpelScanner(new SpelExpressionParser());
+        return spELScanner.scan(SpelConfiguration
                 .builder()
                 .basePackage(Testklasse.class.getPackageName())
                 .annotation(AnnotationToScan.of(MeineAnnotation.class))
                 .build());
-        SpelValidatorAssert.assertThat(result)
-                .verifyMethodParameter("hasRole", List.of("B", "C", "D", "alias_class_annotation"))
-        ;
     }
 
 }